@@ -0,0 +1,100 @@
+package com.example.application.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.application.Application;
+import com.example.application.helpers.Customer;
+import com.example.application.helpers.Money;
+import com.example.application.helpers.Product;
+import com.example.application.helpers.Salesperson;
+import com.example.application.helpers.repos.CustomerRepository;
+import com.example.application.helpers.repos.ProductRepository;
+import com.example.application.helpers.repos.SalespersonRepository;
+import com.example.application.services.CurrentStore;
+
+// Boots the application against a private in-memory H2 database (MySQL mode) with no web server or Vaadin,
+// so benchmarks exercise the real services and repositories offline.
+public final class BenchmarkContext {
+    // Passed as command-line arguments so they take precedence over application.properties
+    private static final String[] DEFAULT_ARGS = {
+        "--spring.datasource.username=sa",
+        "--spring.datasource.password=",
+        "--spring.jpa.hibernate.ddl-auto=create-drop",
+        "--spring.flyway.enabled=false",
+        "--spring.jpa.show-sql=false",
+        "--spring.devtools.restart.enabled=false",
+        "--spring.autoconfigure.exclude=com.vaadin.flow.spring.SpringBootAutoConfiguration,"
+            + "com.vaadin.flow.spring.SpringSecurityAutoConfiguration",
+        "--logging.level.root=warn"
+    };
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String databaseName, String... extraArgs) {
+        String url = "--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        // A fresh checkout journal per run so entries from an earlier run are not replayed into this database
+        String journal = "--pos.journal.directory=target/journal/" + databaseName + "-" + System.nanoTime();
+        String[] args = Stream.of(new String[] { url, journal }, DEFAULT_ARGS, extraArgs).flatMap(Stream::of).toArray(String[]::new);
+        return new SpringApplicationBuilder(Application.class)
+            .web(WebApplicationType.NONE)
+            .bannerMode(Banner.Mode.OFF)
+            .run(args);
+    }
+
+    public static List<Product> seedProducts(ConfigurableApplicationContext context, int count, int quantityInStock) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Product product = new Product();
+            product.setName(String.format("Shoe %06d", i));
+            product.setDescription("Benchmark product " + i);
+            product.setPrice(Money.ofCents((20 + i % 180) * 100L + 99));
+            products.add(product);
+        }
+        List<Product> saved = context.getBean(ProductRepository.class).saveAll(products);
+
+        // Stock at the store the context runs as
+        Long storeId = context.getBean(CurrentStore.class).id();
+        List<Object[]> stock = saved.stream()
+            .map(product -> new Object[] { storeId, product.getProductId(), quantityInStock })
+            .toList();
+        context.getBean(JdbcTemplate.class)
+            .batchUpdate("INSERT INTO store_stock (store_id, product_id, quantity_in_stock) VALUES (?, ?, ?)", stock);
+        return saved;
+    }
+
+    public static List<Customer> seedCustomers(ConfigurableApplicationContext context, int count) {
+        List<Customer> customers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Customer customer = new Customer();
+            customer.setId((long) i + 1);
+            customer.setName(customerName(i));
+            customer.setEmail("customer" + i + "@example.com");
+            customer.setPhone(String.format("555%07d", i));
+            customers.add(customer);
+        }
+        return context.getBean(CustomerRepository.class).saveAll(customers);
+    }
+
+    public static Salesperson seedSalesperson(ConfigurableApplicationContext context) {
+        Salesperson salesperson = new Salesperson();
+        salesperson.setName("Benchmark Salesperson");
+        return context.getBean(SalespersonRepository.class).save(salesperson);
+    }
+
+    // Spread names over many three-letter prefixes, like a real customer table
+    public static String customerName(int i) {
+        char first = (char) ('A' + i % 26);
+        char second = (char) ('a' + (i / 26) % 26);
+        char third = (char) ('a' + (i / 676) % 26);
+        return "" + first + second + third + "son " + i;
+    }
+}
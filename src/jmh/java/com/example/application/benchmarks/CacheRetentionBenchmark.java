@@ -0,0 +1,101 @@
+package com.example.application.benchmarks;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.application.helpers.Product;
+import com.example.application.helpers.repos.ProductRepository;
+import com.example.application.services.CheckoutService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Checkouts interleaved with reads of products that are never on the ticket. Checkout's writes must not evict
+// the Product region, so those reads should keep hitting the second-level cache; the trial fails when the
+// region's hit ratio drops below MIN_HIT_RATIO.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CacheRetentionBenchmark {
+    private static final double MIN_HIT_RATIO = 0.9;
+
+    private ConfigurableApplicationContext context;
+    private CheckoutService checkoutService;
+    private ProductRepository productRepository;
+    private Statistics statistics;
+    private Long customerId;
+    private Long salespersonId;
+    private Map<Long, Integer> quantitiesByProductId;
+    private long[] readIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("cacheretention");
+        checkoutService = context.getBean(CheckoutService.class);
+        productRepository = context.getBean(ProductRepository.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        List<Product> products = BenchmarkContext.seedProducts(context, 1_000, Integer.MAX_VALUE / 2);
+        customerId = BenchmarkContext.seedCustomers(context, 1).get(0).getId();
+        salespersonId = BenchmarkContext.seedSalesperson(context).getId();
+
+        // Tickets sell from the first half of the catalog; reads come from the second half
+        quantitiesByProductId = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            quantitiesByProductId.put(products.get(i).getProductId(), 1);
+        }
+        readIds = products.subList(products.size() / 2, products.size()).stream()
+            .mapToLong(Product::getProductId)
+            .toArray();
+        for (long id : readIds) {
+            productRepository.findById(id);
+        }
+        statistics.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        try {
+            CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(Product.class.getName());
+            long lookups = region.getHitCount() + region.getMissCount();
+            double hitRatio = lookups == 0 ? 0 : (double) region.getHitCount() / lookups;
+            System.out.printf("Product region: %d hits, %d misses, hit ratio %.3f%n",
+                region.getHitCount(), region.getMissCount(), hitRatio);
+            if (hitRatio < MIN_HIT_RATIO) {
+                throw new IllegalStateException("Product cache hit ratio " + hitRatio + " fell below " + MIN_HIT_RATIO
+                    + " across checkouts; a write is evicting the region");
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public Optional<Product> checkoutThenRead() {
+        checkoutService.checkout(customerId, salespersonId, quantitiesByProductId);
+        return productRepository.findById(readIds[next++ % readIds.length]);
+    }
+}
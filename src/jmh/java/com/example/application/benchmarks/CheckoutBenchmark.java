@@ -0,0 +1,69 @@
+package com.example.application.benchmarks;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.application.helpers.Product;
+import com.example.application.helpers.Ticket;
+import com.example.application.services.CheckoutService;
+
+// Full checkout (conditional stock decrements, ticket, items, sales, rollups) for tickets of N lines
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CheckoutBenchmark {
+
+    @Param({ "1", "10", "50" })
+    public int lines;
+
+    private ConfigurableApplicationContext context;
+    private CheckoutService checkoutService;
+    private Long customerId;
+    private Long salespersonId;
+    private Map<Long, Integer> quantitiesByProductId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("checkout");
+        checkoutService = context.getBean(CheckoutService.class);
+
+        List<Product> products = BenchmarkContext.seedProducts(context, 1_000, Integer.MAX_VALUE / 2);
+        customerId = BenchmarkContext.seedCustomers(context, 1).get(0).getId();
+        salespersonId = BenchmarkContext.seedSalesperson(context).getId();
+
+        quantitiesByProductId = new HashMap<>();
+        for (int i = 0; i < lines; i++) {
+            quantitiesByProductId.put(products.get(i * 7 % products.size()).getProductId(), 1 + i % 3);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Ticket checkout() {
+        return checkoutService.checkout(customerId, salespersonId, quantitiesByProductId);
+    }
+}
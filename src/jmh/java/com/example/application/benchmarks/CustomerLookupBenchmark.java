@@ -0,0 +1,67 @@
+package com.example.application.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.application.helpers.Customer;
+import com.example.application.services.CustomerService;
+
+// Typeahead and exact lookups as issued by the customer ComboBox
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CustomerLookupBenchmark {
+
+    @Param({ "50000" })
+    public int customers;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("customers");
+        customerService = context.getBean(CustomerService.class);
+        BenchmarkContext.seedCustomers(context, customers);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Customer> prefixSearch() {
+        String name = BenchmarkContext.customerName(ThreadLocalRandom.current().nextInt(customers));
+        return customerService.search(name.substring(0, 3), 0, 20);
+    }
+
+    @Benchmark
+    public List<Customer> phoneLookup() {
+        return customerService.search(String.format("555%07d", ThreadLocalRandom.current().nextInt(customers)), 0, 20);
+    }
+
+    @Benchmark
+    public Customer exactName() {
+        return customerService.findOrCreate(BenchmarkContext.customerName(ThreadLocalRandom.current().nextInt(customers)));
+    }
+}
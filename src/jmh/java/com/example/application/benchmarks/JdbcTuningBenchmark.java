@@ -0,0 +1,89 @@
+package com.example.application.benchmarks;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.application.helpers.Product;
+import com.example.application.helpers.Ticket;
+import com.example.application.services.CheckoutService;
+
+// Checkout throughput with Hibernate and Hikari at their defaults versus the prod profile, from 8 concurrent
+// registers. H2 ignores the MySQL driver options in the prod URL (rewriteBatchedStatements, statement caching),
+// so this measures batching, statement ordering and pool settings only; the driver options add to it on MySQL.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Threads(8)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JdbcTuningBenchmark {
+    private static final Map<String, String[]> SETTINGS = Map.of(
+        "default", new String[] {
+            "--spring.jpa.properties.hibernate.jdbc.batch_size=1",
+            "--spring.jpa.properties.hibernate.order_inserts=false",
+            "--spring.jpa.properties.hibernate.order_updates=false",
+            "--spring.datasource.hikari.maximum-pool-size=10"
+        },
+        // The datasource URL, credentials and ddl-auto from BenchmarkContext still win over the profile
+        "tuned", new String[] {
+            "--spring.profiles.active=prod",
+            "--spring.flyway.enabled=false",
+            "--spring.jpa.defer-datasource-initialization=true"
+        });
+
+    @Param({ "default", "tuned" })
+    public String settings;
+
+    @Param({ "10" })
+    public int lines;
+
+    private ConfigurableApplicationContext context;
+    private CheckoutService checkoutService;
+    private Long customerId;
+    private Long salespersonId;
+    private Map<Long, Integer> quantitiesByProductId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("jdbc_" + settings, SETTINGS.get(settings));
+        checkoutService = context.getBean(CheckoutService.class);
+
+        List<Product> products = BenchmarkContext.seedProducts(context, 1_000, Integer.MAX_VALUE / 2);
+        customerId = BenchmarkContext.seedCustomers(context, 1).get(0).getId();
+        salespersonId = BenchmarkContext.seedSalesperson(context).getId();
+
+        quantitiesByProductId = new HashMap<>();
+        for (int i = 0; i < lines; i++) {
+            quantitiesByProductId.put(products.get(i * 7 % products.size()).getProductId(), 1 + i % 3);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Ticket checkout() {
+        return checkoutService.checkout(customerId, salespersonId, quantitiesByProductId);
+    }
+}
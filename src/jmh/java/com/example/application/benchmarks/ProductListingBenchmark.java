@@ -0,0 +1,76 @@
+package com.example.application.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.application.helpers.Product;
+import com.example.application.helpers.ProductRecord;
+import com.example.application.services.CatalogSnapshot;
+import com.example.application.services.ProductCatalogCache;
+
+import jakarta.persistence.EntityManager;
+
+// Grid page fetches straight from the database, as the grid did before the catalog cache, and from the shared
+// catalog snapshot
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProductListingBenchmark {
+    private static final int PRODUCTS = 20_000;
+
+    @Param({ "50", "200", "1000" })
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private ProductCatalogCache catalogCache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("products");
+        entityManager = context.getBean(EntityManager.class);
+        catalogCache = context.getBean(ProductCatalogCache.class);
+        BenchmarkContext.seedProducts(context, PRODUCTS, 100);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Product> repositoryPage() {
+        return entityManager.createQuery("SELECT p FROM Product p ORDER BY p.name", Product.class)
+            .setFirstResult(randomOffset())
+            .setMaxResults(pageSize)
+            .getResultList();
+    }
+
+    @Benchmark
+    public List<ProductRecord> snapshotPage() {
+        return catalogCache.snapshot().page(randomOffset(), pageSize, CatalogSnapshot.SortKey.NAME, true).toList();
+    }
+
+    private int randomOffset() {
+        return ThreadLocalRandom.current().nextInt(PRODUCTS / pageSize) * pageSize;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.application.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.application.helpers.Money;
+import com.example.application.helpers.Promotion;
+import com.example.application.helpers.PromotionType;
+import com.example.application.services.PricedTicket;
+import com.example.application.services.PromotionEngine;
+
+// Pricing a ticket against the compiled promotions: the whole ticket, and the single-line re-price done when a
+// cashier adds or changes a line. Pure in-memory work, so no application context is started; results are
+// average time per operation, which should stay well under a millisecond for a 50-line ticket.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PromotionBenchmark {
+    private static final int PRODUCTS = 500;
+    private static final int STORE_WIDE = 10;
+
+    @Param({ "1000" })
+    public int promotionCount;
+
+    @Param({ "50" })
+    public int lineCount;
+
+    private List<Promotion> promotions;
+    private PromotionEngine engine;
+    private long[] productIds;
+    private long[] unitCents;
+    private int[] quantities;
+    private PricedTicket pricedTicket;
+    private int nextLine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        promotions = new ArrayList<>(promotionCount);
+        for (int i = 0; i < promotionCount; i++) {
+            promotions.add(promotion(i, random, i < STORE_WIDE ? null : (long) random.nextInt(PRODUCTS)));
+        }
+        engine = PromotionEngine.compile(promotions, LocalDateTime.now());
+
+        productIds = new long[lineCount];
+        unitCents = new long[lineCount];
+        quantities = new int[lineCount];
+        for (int i = 0; i < lineCount; i++) {
+            productIds[i] = i * (PRODUCTS / lineCount);
+            unitCents[i] = (20 + random.nextInt(180)) * 100L + 99;
+            quantities[i] = 1 + random.nextInt(6);
+        }
+        pricedTicket = priceTicket();
+    }
+
+    @Benchmark
+    public PromotionEngine compile() {
+        return PromotionEngine.compile(promotions, LocalDateTime.now());
+    }
+
+    @Benchmark
+    public PricedTicket priceTicket() {
+        PricedTicket ticket = new PricedTicket(engine);
+        for (int i = 0; i < lineCount; i++) {
+            ticket.setLine(productIds[i], unitCents[i], quantities[i]);
+        }
+        return ticket;
+    }
+
+    @Benchmark
+    public long repriceChangedLine() {
+        int line = nextLine++ % lineCount;
+        quantities[line] = quantities[line] % 6 + 1;
+        pricedTicket.setLine(productIds[line], unitCents[line], quantities[line]);
+        return pricedTicket.totalCents();
+    }
+
+    private static Promotion promotion(long id, Random random, Long productId) {
+        Promotion promotion = new Promotion();
+        promotion.setId(id);
+        promotion.setName("Promotion " + id);
+        promotion.setProductId(productId);
+        promotion.setPriority(random.nextInt(10));
+        promotion.setExclusive(random.nextInt(4) == 0);
+        PromotionType type = PromotionType.values()[random.nextInt(PromotionType.values().length)];
+        promotion.setType(type);
+        switch (type) {
+            case PERCENT_OFF -> {
+                promotion.setPercentBasisPoints(500 + random.nextInt(20) * 100);
+                promotion.setBuyQuantity(random.nextInt(3));
+            }
+            case AMOUNT_OFF -> promotion.setAmount(Money.ofCents(50 + random.nextInt(200)));
+            case BUY_X_GET_Y -> {
+                promotion.setBuyQuantity(1 + random.nextInt(2));
+                promotion.setGetQuantity(1);
+                promotion.setPercentBasisPoints(random.nextBoolean() ? 10_000 : 5_000);
+            }
+            case BUNDLE_PRICE -> {
+                promotion.setBuyQuantity(2 + random.nextInt(2));
+                promotion.setAmount(Money.ofCents(2_000 + random.nextInt(5_000)));
+            }
+        }
+        return promotion;
+    }
+}
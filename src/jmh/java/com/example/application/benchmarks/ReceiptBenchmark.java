@@ -0,0 +1,68 @@
+package com.example.application.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.application.helpers.Product;
+import com.example.application.services.CheckoutService;
+import com.example.application.services.ReceiptService;
+
+// Receipt rendering for a persisted ticket, written to a discarding stream
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ReceiptBenchmark {
+
+    @Param({ "5", "50" })
+    public int lines;
+
+    private ConfigurableApplicationContext context;
+    private ReceiptService receiptService;
+    private Long ticketId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("receipts");
+        receiptService = context.getBean(ReceiptService.class);
+
+        List<Product> products = BenchmarkContext.seedProducts(context, lines, 1_000);
+        Map<Long, Integer> quantitiesByProductId = new HashMap<>();
+        products.forEach(product -> quantitiesByProductId.put(product.getProductId(), 2));
+        ticketId = context.getBean(CheckoutService.class)
+            .checkout(BenchmarkContext.seedCustomers(context, 1).get(0).getId(),
+                      BenchmarkContext.seedSalesperson(context).getId(), quantitiesByProductId)
+            .getTicketId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void writeReceipt() throws IOException {
+        receiptService.writeReceipt(ticketId, OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.application.loadtest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+
+import com.example.application.helpers.Customer;
+import com.example.application.helpers.ProductRecord;
+import com.example.application.helpers.Salesperson;
+import com.example.application.views.POSView;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.combobox.ComboBox;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.testbench.unit.UIUnitTest;
+
+// One cashier's browser tab without a browser: a TestBench UI unit environment (mock servlet, session and UI
+// bound to the calling thread) with a real POSView attached. Every action goes through the view's own
+// components, so its listeners, data providers and UI.access callbacks run under the session lock as they would
+// for a client round trip; only the wire and push delivery are not simulated.
+final class CashierSession extends UIUnitTest {
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final ComboBox<Customer> customerComboBox;
+    private final ComboBox<Salesperson> salespersonComboBox;
+    private final Grid<ProductRecord> productGrid;
+    private final Grid<?> ticketItemGrid;
+    private final TextField quantityField;
+    private final Button addToTicketButton;
+    private final Button completeButton;
+    private final Button parkButton;
+
+    @SuppressWarnings("unchecked")
+    CashierSession(AutowireCapableBeanFactory beanFactory) throws Exception {
+        initVaadinEnvironment();
+        UI.getCurrent().add(beanFactory.createBean(POSView.class));
+
+        customerComboBox = $(ComboBox.class).withCaption("Customer (name, phone or email)").single();
+        salespersonComboBox = $(ComboBox.class).withCaption("Select Salesperson").single();
+        quantityField = $(TextField.class).withCaption("Quantity").single();
+        addToTicketButton = $(Button.class).withText("Add to Ticket").single();
+        completeButton = $(Button.class).withText("Complete Transaction").single();
+        parkButton = $(Button.class).withText("Park Ticket").single();
+        // The product grid comes before the ticket grid in the layout
+        List<Grid> grids = $(Grid.class).all();
+        productGrid = grids.get(0);
+        ticketItemGrid = grids.get(1);
+
+        // Salespeople are loaded in the background when the view attaches
+        awaitUntil(() -> !test(salespersonComboBox).getSuggestionItems().isEmpty());
+    }
+
+    int productRows() {
+        return test(productGrid).size();
+    }
+
+    void selectCustomer(String name) {
+        test(customerComboBox).selectItem(name);
+    }
+
+    void selectSalesperson(String name) {
+        test(salespersonComboBox).selectItem(name);
+    }
+
+    // Selects a product row and sets its ticket line to the quantity; false when the register refuses the stock
+    boolean addToTicket(int row, int quantity) {
+        test(productGrid).select(row);
+        test(quantityField).setValue(Integer.toString(quantity));
+        test(addToTicketButton).click();
+        return !lastNotification().startsWith("Not enough stock");
+    }
+
+    boolean ticketIsEmpty() {
+        return test(ticketItemGrid).size() == 0;
+    }
+
+    // Clicks Complete Transaction and waits for the result to come back through UI.access. A refused checkout
+    // (a stock conflict, for one) is parked so the cashier can start the next ticket.
+    boolean completeTransaction() throws InterruptedException {
+        test(completeButton).click();
+        awaitUntil(completeButton::isEnabled);
+        if (lastNotification().equals("Transaction completed successfully!")) {
+            return true;
+        }
+        test(parkButton).click();
+        lastNotification();
+        return false;
+    }
+
+    void close() {
+        cleanVaadinEnvironment(); // Detaches the view, releasing any holds its ticket still has
+    }
+
+    // The newest notification's text; all of them are closed so they don't pile up in the UI
+    private String lastNotification() {
+        roundTrip();
+        List<Notification> open = $(Notification.class).all();
+        String text = open.isEmpty() ? "" : test(open.get(open.size() - 1)).getText();
+        open.forEach(Notification::close);
+        return text;
+    }
+
+    // Runs pending UI.access tasks, as the next client round trip would, until the condition holds
+    private void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT_NANOS;
+        roundTrip();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("POSView did not respond within " + TimeUnit.NANOSECONDS.toSeconds(TIMEOUT_NANOS) + "s");
+            }
+            Thread.sleep(1);
+            roundTrip();
+        }
+    }
+}
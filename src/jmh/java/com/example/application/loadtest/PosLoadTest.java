@@ -0,0 +1,199 @@
+package com.example.application.loadtest;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.application.benchmarks.BenchmarkContext;
+import com.example.application.helpers.Product;
+import com.example.application.helpers.Salesperson;
+import com.example.application.services.CheckoutJournal;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Headless load test: N cashiers, each on its own virtual thread with its own CashierSession (a TestBench UI
+// unit session holding a real POSView), pick products from the grid, add them to the ticket and complete the
+// transaction through the view's components, against embedded H2. No browser or network is needed; heap per
+// session is measured across those live sessions.
+//
+//   mvn -Pbenchmark compile exec:exec@loadtest -Dloadtest.cashiers=200
+//
+// The catalog is deliberately small so cashiers compete for stock; lines the register can't reserve are refused
+// when added, checkouts the register refuses are counted as failed and parked, and anything that still oversells
+// must be rejected by the journal drainer, never committed. The run fails if any product's stock disagrees with
+// its ticket lines.
+public final class PosLoadTest {
+
+    private PosLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int cashiers = Integer.getInteger("loadtest.cashiers", 50);
+        int checkoutsPerCashier = Integer.getInteger("loadtest.checkouts", 20);
+        int linesPerTicket = Integer.getInteger("loadtest.lines", 5);
+        int productCount = Integer.getInteger("loadtest.products", 200);
+        int initialStock = Integer.getInteger("loadtest.stock", 100);
+
+        try (ConfigurableApplicationContext context = BenchmarkContext.start("loadtest", "--pos.journal.drain-interval-ms=50")) {
+            List<Product> products = BenchmarkContext.seedProducts(context, productCount, initialStock);
+            BenchmarkContext.seedCustomers(context, cashiers);
+            Salesperson salesperson = BenchmarkContext.seedSalesperson(context);
+
+            AutowireCapableBeanFactory beanFactory = context.getAutowireCapableBeanFactory();
+            AtomicLong acknowledgedCount = new AtomicLong();
+            AtomicLong failedCount = new AtomicLong();
+            AtomicLong refusedLines = new AtomicLong();
+            long[][] addLatencies = new long[cashiers][];
+            long[][] checkoutLatencies = new long[cashiers][];
+
+            // Every session is opened before any cashier starts, so retained heap can be measured across them
+            CountDownLatch opened = new CountDownLatch(cashiers);
+            CountDownLatch go = new CountDownLatch(1);
+            long heapBefore = usedHeapAfterGc();
+            long heapPerSession;
+            long started;
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> sessions = new ArrayList<>(cashiers);
+                for (int c = 0; c < cashiers; c++) {
+                    int cashier = c;
+                    sessions.add(executor.submit(() -> {
+                        CashierSession session;
+                        try {
+                            session = new CashierSession(beanFactory);
+                        } finally {
+                            opened.countDown();
+                        }
+                        try {
+                            go.await();
+                            Random random = new Random(cashier);
+                            String customerName = BenchmarkContext.customerName(cashier);
+                            long[] adds = new long[checkoutsPerCashier * linesPerTicket];
+                            long[] checkouts = new long[checkoutsPerCashier];
+                            int completed = 0;
+                            for (int t = 0; t < checkoutsPerCashier; t++) {
+                                session.selectCustomer(customerName);
+                                session.selectSalesperson(salesperson.getName());
+                                for (int l = 0; l < linesPerTicket; l++) {
+                                    long start = System.nanoTime();
+                                    if (!session.addToTicket(random.nextInt(session.productRows()), 1 + random.nextInt(3))) {
+                                        refusedLines.incrementAndGet();
+                                    }
+                                    adds[t * linesPerTicket + l] = System.nanoTime() - start;
+                                }
+                                if (session.ticketIsEmpty()) {
+                                    continue;
+                                }
+
+                                long start = System.nanoTime();
+                                if (session.completeTransaction()) {
+                                    checkouts[completed++] = System.nanoTime() - start;
+                                    acknowledgedCount.incrementAndGet();
+                                } else {
+                                    failedCount.incrementAndGet();
+                                }
+                            }
+                            addLatencies[cashier] = adds;
+                            checkoutLatencies[cashier] = Arrays.copyOf(checkouts, completed);
+                        } finally {
+                            session.close();
+                        }
+                        return null;
+                    }));
+                }
+                opened.await();
+                heapPerSession = (usedHeapAfterGc() - heapBefore) / cashiers;
+                started = System.nanoTime();
+                go.countDown();
+                for (Future<?> session : sessions) {
+                    session.get();
+                }
+            }
+            long elapsed = System.nanoTime() - started;
+
+            long drainStarted = System.nanoTime();
+            CheckoutJournal journal = context.getBean(CheckoutJournal.class);
+            while (journal.pendingCount() > 0) {
+                Thread.sleep(50);
+            }
+            long drainElapsed = System.nanoTime() - drainStarted;
+
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            long acknowledged = acknowledgedCount.get();
+            long applied = (long) registry.counter("pos.journal.applied").count();
+            long rejected = (long) registry.counter("pos.journal.rejected").count();
+            Long tickets = context.getBean(JdbcTemplate.class).queryForObject("SELECT COUNT(*) FROM ticket", Long.class);
+            List<String> violations = stockViolations(context, products, initialStock);
+
+            System.out.printf("Cashiers %d, %d checkouts each, %d lines per ticket, %d products%n",
+                cashiers, checkoutsPerCashier, linesPerTicket, productCount);
+            System.out.printf("Throughput       %.1f checkouts/s acknowledged, journal drained %.1fs after the last one%n",
+                acknowledged / (elapsed / 1e9), drainElapsed / 1e9);
+            printLatency("Add to ticket", addLatencies);
+            printLatency("Checkout", checkoutLatencies);
+            // Each simulated tab also carries its own mock servlet and service, so this is an upper bound
+            System.out.printf("Heap per session %,d bytes%n", heapPerSession);
+            System.out.printf("Checkouts        %d acknowledged, %d failed at the register, %d tickets, %d rejected (oversold), %d lines refused at the register%n",
+                acknowledged, failedCount.get(), tickets, rejected, refusedLines.get());
+            long unaccounted = acknowledged - applied - rejected;
+            System.out.printf("Stock violations %d%n", violations.size() + (unaccounted == 0 ? 0 : 1));
+            violations.forEach(violation -> System.out.println("  " + violation));
+            if (unaccounted != 0) {
+                System.out.printf("  %d acknowledged checkouts were neither applied nor rejected%n", unaccounted);
+            }
+            if (!violations.isEmpty() || unaccounted != 0) {
+                System.exit(1);
+            }
+        }
+    }
+
+    // Every product's stock must equal its starting stock minus the quantities on committed ticket lines
+    private static List<String> stockViolations(ConfigurableApplicationContext context, List<Product> products, int initialStock) {
+        List<String> violations = new ArrayList<>();
+        context.getBean(JdbcTemplate.class).query(
+            "SELECT s.product_id, s.quantity_in_stock, COALESCE(SUM(i.quantity), 0) FROM store_stock s "
+                + "LEFT JOIN ticket_item i ON i.product_product_id = s.product_id GROUP BY s.product_id, s.quantity_in_stock",
+            row -> {
+                long productId = row.getLong(1);
+                long stock = row.getLong(2);
+                long sold = row.getLong(3);
+                if (stock < 0 || stock + sold != initialStock) {
+                    violations.add("product " + productId + ": stock " + stock + ", sold " + sold + ", started with " + initialStock);
+                }
+            });
+        return violations;
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                TimeUnit.MILLISECONDS.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static void printLatency(String operation, long[][] latenciesByCashier) {
+        long[] latencies = Arrays.stream(latenciesByCashier).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("%-16s p50 %.2f ms, p99 %.2f ms, max %.2f ms%n", operation,
+            percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6, latencies[latencies.length - 1] / 1e6);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+}
@@ -1,9 +1,25 @@
 package com.example.application.helpers;
 
+import java.util.Locale;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(indexes = {
+    @Index(name = "idx_customer_name_key", columnList = "name_key"),
+    @Index(name = "idx_customer_phone", columnList = "phone"),
+    @Index(name = "idx_customer_email", columnList = "email")
+})
 public class Customer {
 
     @Id
@@ -13,6 +29,14 @@ public class Customer {
     private String email;
     private String phone;
 
+    // Trimmed, lower-cased name so lookups and prefix searches can use the index
+    @Column(name = "name_key")
+    private String nameKey;
+
+    public static String normalizeName(String name) {
+        return name == null ? null : name.trim().toLowerCase(Locale.ROOT);
+    }
+
     // Getters and setters
     public Long getId() {
         return id;
@@ -28,6 +52,11 @@ public class Customer {
 
     public void setName(String name) {
         this.name = name;
+        this.nameKey = normalizeName(name);
+    }
+
+    public String getNameKey() {
+        return nameKey;
     }
 
     public String getEmail() {
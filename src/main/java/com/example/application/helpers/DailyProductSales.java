@@ -0,0 +1,45 @@
+package com.example.application.helpers;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+// Units and revenue per product per day, maintained incrementally at checkout
+@Entity
+@Table(name = "daily_product_sales")
+public class DailyProductSales {
+
+    @EmbeddedId
+    private DailyProductSalesId id;
+
+    @Column(name = "quantity_sold")
+    private long quantitySold;
+
+    @Column(name = "revenue_cents")
+    private long revenueCents;
+
+    public DailyProductSalesId getId() {
+        return id;
+    }
+
+    public void setId(DailyProductSalesId id) {
+        this.id = id;
+    }
+
+    public long getQuantitySold() {
+        return quantitySold;
+    }
+
+    public void setQuantitySold(long quantitySold) {
+        this.quantitySold = quantitySold;
+    }
+
+    public long getRevenueCents() {
+        return revenueCents;
+    }
+
+    public void setRevenueCents(long revenueCents) {
+        this.revenueCents = revenueCents;
+    }
+}
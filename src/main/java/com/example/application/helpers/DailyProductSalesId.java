@@ -0,0 +1,51 @@
+package com.example.application.helpers;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+@Embeddable
+public class DailyProductSalesId implements Serializable {
+
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    @Column(name = "product_id")
+    private Long productId;
+
+    protected DailyProductSalesId() {
+        // Required by JPA
+    }
+
+    public DailyProductSalesId(LocalDate salesDate, Long productId) {
+        this.salesDate = salesDate;
+        this.productId = productId;
+    }
+
+    public LocalDate getSalesDate() {
+        return salesDate;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DailyProductSalesId other)) {
+            return false;
+        }
+        return Objects.equals(salesDate, other.salesDate) && Objects.equals(productId, other.productId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(salesDate, productId);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.application.helpers;
+
+import java.time.LocalDate;
+
+// Store-wide totals for one day, summed from the salesperson rollup
+public record DailyRevenue(LocalDate salesDate, long ticketCount, long quantitySold, long revenueCents) {
+}
@@ -0,0 +1,56 @@
+package com.example.application.helpers;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+// Tickets, units and revenue per salesperson per day, maintained incrementally at checkout
+@Entity
+@Table(name = "daily_salesperson_sales")
+public class DailySalespersonSales {
+
+    @EmbeddedId
+    private DailySalespersonSalesId id;
+
+    @Column(name = "ticket_count")
+    private long ticketCount;
+
+    @Column(name = "quantity_sold")
+    private long quantitySold;
+
+    @Column(name = "revenue_cents")
+    private long revenueCents;
+
+    public DailySalespersonSalesId getId() {
+        return id;
+    }
+
+    public void setId(DailySalespersonSalesId id) {
+        this.id = id;
+    }
+
+    public long getTicketCount() {
+        return ticketCount;
+    }
+
+    public void setTicketCount(long ticketCount) {
+        this.ticketCount = ticketCount;
+    }
+
+    public long getQuantitySold() {
+        return quantitySold;
+    }
+
+    public void setQuantitySold(long quantitySold) {
+        this.quantitySold = quantitySold;
+    }
+
+    public long getRevenueCents() {
+        return revenueCents;
+    }
+
+    public void setRevenueCents(long revenueCents) {
+        this.revenueCents = revenueCents;
+    }
+}
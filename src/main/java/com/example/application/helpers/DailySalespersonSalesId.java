@@ -0,0 +1,51 @@
+package com.example.application.helpers;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+@Embeddable
+public class DailySalespersonSalesId implements Serializable {
+
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    @Column(name = "salesperson_id")
+    private Long salespersonId;
+
+    protected DailySalespersonSalesId() {
+        // Required by JPA
+    }
+
+    public DailySalespersonSalesId(LocalDate salesDate, Long salespersonId) {
+        this.salesDate = salesDate;
+        this.salespersonId = salespersonId;
+    }
+
+    public LocalDate getSalesDate() {
+        return salesDate;
+    }
+
+    public Long getSalespersonId() {
+        return salespersonId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DailySalespersonSalesId other)) {
+            return false;
+        }
+        return Objects.equals(salesDate, other.salesDate) && Objects.equals(salespersonId, other.salespersonId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(salesDate, salespersonId);
+    }
+}
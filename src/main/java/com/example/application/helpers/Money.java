@@ -0,0 +1,72 @@
+package com.example.application.helpers;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Exact amount in minor units (cents), stored as BIGINT through MoneyConverter.
+// Entities hold Money; hot paths (line totals, ticket totals, rollups) work on the raw long cents with the
+// static helpers below, which are exact and allocate nothing. Overflow throws instead of wrapping.
+public record Money(long cents) implements Comparable<Money> {
+    public static final Money ZERO = new Money(0);
+
+    private static final int BASIS_POINTS = 10_000;
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    // "12.5" and "12.50" are both 1250 cents; more than two decimals round half-even
+    public static Money parse(String amount) {
+        return ofCents(parseCents(amount));
+    }
+
+    public static long parseCents(String amount) {
+        return new BigDecimal(amount.trim()).movePointRight(2).setScale(0, RoundingMode.HALF_EVEN).longValueExact();
+    }
+
+    public static String format(long cents) {
+        long units = Math.abs(cents / 100);
+        long fraction = Math.abs(cents % 100);
+        return (cents < 0 ? "-" : "") + units + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+
+    public static long times(long cents, int quantity) {
+        return Math.multiplyExact(cents, quantity);
+    }
+
+    public static long plus(long cents, long otherCents) {
+        return Math.addExact(cents, otherCents);
+    }
+
+    // A rate in basis points (825 = 8.25%) of an amount, rounded half-even to the cent: tax, percentage discounts
+    public static long percentOf(long cents, int basisPoints) {
+        return divideHalfEven(Math.multiplyExact(cents, basisPoints), BASIS_POINTS);
+    }
+
+    public Money plus(Money other) {
+        return ofCents(plus(cents, other.cents));
+    }
+
+    public Money times(int quantity) {
+        return ofCents(times(cents, quantity));
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public String toString() {
+        return format(cents);
+    }
+
+    private static long divideHalfEven(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long twiceRemainder = Math.abs(dividend % divisor) * 2;
+        if (twiceRemainder > divisor || (twiceRemainder == divisor && (quotient & 1) != 0)) {
+            quotient += Long.signum(dividend);
+        }
+        return quotient;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.application.helpers;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+// A Pageable addressed by row offset rather than page number, for lazy grid and combo box callbacks whose
+// offset is not always a multiple of the limit
+public record OffsetPageable(long offset, int limit, Sort sort) implements Pageable {
+
+    public OffsetPageable {
+        if (offset < 0 || limit < 1) {
+            throw new IllegalArgumentException("Offset must not be negative and limit must be positive");
+        }
+    }
+
+    @Override
+    public int getPageNumber() {
+        return (int) (offset / limit);
+    }
+
+    @Override
+    public int getPageSize() {
+        return limit;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public Sort getSort() {
+        return sort;
+    }
+
+    @Override
+    public Pageable next() {
+        return new OffsetPageable(offset + limit, limit, sort);
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return new OffsetPageable(Math.max(0, offset - limit), limit, sort);
+    }
+
+    @Override
+    public Pageable first() {
+        return new OffsetPageable(0, limit, sort);
+    }
+
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return new OffsetPageable((long) pageNumber * limit, limit, sort);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+}
@@ -1,26 +1,53 @@
 package com.example.application.helpers;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Product {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long productId;
 
+    // Barcode/SKU as scanned at the register, stored normalized (trimmed, upper-case)
+    @Column(unique = true)
+    private String sku;
+
     private String name;
     private String description;
-    private double price;
-    private int quantityInStock;
+    @Column(name = "price_cents")
+    private Money price;
+    // Stock is per store: see StoreStock
 
-    public void Product(String name, double price, int quantityInStock) {
+    public void Product(String name, Money price) {
         setName(name);
         setPrice(price);
-        setQuantityInStock(quantityInStock);
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
     }
 
     public String getName() {
@@ -39,25 +66,17 @@ public class Product {
         this.description = description;
     }
 
-    public double getPrice() {
+    public Money getPrice() {
         return price;
     }
 
-    public void setPrice(double price) {
+    public void setPrice(Money price) {
         this.price = price;
     }
 
-    public int getQuantityInStock() {
-        return quantityInStock;
-    }
-
-    public void setQuantityInStock(int quantityInStock) {
-        this.quantityInStock = quantityInStock;
-    }
-
     @Override
     public String toString() {
-        return "Product{id=" + productId + ", name='" + name + "', price=" + price + ", quantityInStock=" + quantityInStock + "}";
+        return "Product{id=" + productId + ", sku='" + sku + "', name='" + name + "', price=" + price + "}";
     }
 
 }
@@ -0,0 +1,16 @@
+package com.example.application.helpers;
+
+// Immutable catalog row shared by every session through CatalogSnapshot; views never hold Product entities.
+// quantityInStock is this store's stock.
+public record ProductRecord(long productId, String sku, String name, long priceCents, int quantityInStock) {
+
+    // Used by the JPQL constructor expression, where the price arrives converted to Money
+    public ProductRecord(long productId, String sku, String name, Money price, int quantityInStock) {
+        this(productId, sku, name, price == null ? 0 : price.cents(), quantityInStock);
+    }
+
+    public static ProductRecord from(Product product, int quantityInStock) {
+        return new ProductRecord(product.getProductId(), product.getSku(), product.getName(), product.getPrice(),
+            quantityInStock);
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.application.helpers;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(indexes = @Index(name = "idx_promotion_active_ends", columnList = "active, ends_at"))
+public class Promotion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private PromotionType type;
+
+    // Product the promotion applies to; null applies it to every product
+    @Column(name = "product_id")
+    private Long productId;
+
+    // Higher runs first; an exclusive promotion that applies ends evaluation for the line
+    private int priority;
+
+    @Column(name = "exclusive_rule")
+    private boolean exclusive;
+
+    @Column(name = "percent_basis_points")
+    private int percentBasisPoints;
+
+    @Column(name = "amount_cents")
+    private Money amount;
+
+    @Column(name = "buy_quantity")
+    private int buyQuantity;
+
+    @Column(name = "get_quantity")
+    private int getQuantity;
+
+    private boolean active = true;
+
+    // Open-ended when null
+    @Column(name = "starts_at")
+    private LocalDateTime startsAt;
+
+    @Column(name = "ends_at")
+    private LocalDateTime endsAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public PromotionType getType() {
+        return type;
+    }
+
+    public void setType(PromotionType type) {
+        this.type = type;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    public boolean isExclusive() {
+        return exclusive;
+    }
+
+    public void setExclusive(boolean exclusive) {
+        this.exclusive = exclusive;
+    }
+
+    public int getPercentBasisPoints() {
+        return percentBasisPoints;
+    }
+
+    public void setPercentBasisPoints(int percentBasisPoints) {
+        this.percentBasisPoints = percentBasisPoints;
+    }
+
+    public Money getAmount() {
+        return amount;
+    }
+
+    public void setAmount(Money amount) {
+        this.amount = amount;
+    }
+
+    public int getBuyQuantity() {
+        return buyQuantity;
+    }
+
+    public void setBuyQuantity(int buyQuantity) {
+        this.buyQuantity = buyQuantity;
+    }
+
+    public int getGetQuantity() {
+        return getQuantity;
+    }
+
+    public void setGetQuantity(int getQuantity) {
+        this.getQuantity = getQuantity;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public LocalDateTime getStartsAt() {
+        return startsAt;
+    }
+
+    public void setStartsAt(LocalDateTime startsAt) {
+        this.startsAt = startsAt;
+    }
+
+    public LocalDateTime getEndsAt() {
+        return endsAt;
+    }
+
+    public void setEndsAt(LocalDateTime endsAt) {
+        this.endsAt = endsAt;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.application.helpers;
+
+// How a Promotion discounts a ticket line; see PromotionEngine for the exact arithmetic
+public enum PromotionType {
+    // percentBasisPoints off the line, from buyQuantity units up (0 or 1: any quantity)
+    PERCENT_OFF,
+    // amount off each unit
+    AMOUNT_OFF,
+    // for every buyQuantity units, getQuantity more at percentBasisPoints off (10000 = free, BOGO)
+    BUY_X_GET_Y,
+    // every buyQuantity units cost amount together
+    BUNDLE_PRICE
+}
@@ -1,18 +1,22 @@
 package com.example.application.helpers;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 
 @Entity
 public class Sale {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sale_seq")
+    @SequenceGenerator(name = "sale_seq", sequenceName = "sale_seq", allocationSize = 50)
     private Long id;
     private Long productId;
     private int quantitySold;
-    private double totalPrice;
+    @Column(name = "total_price_cents")
+    private Money totalPrice;
     private String salesPerson;
 
     // Getters and setters
@@ -40,11 +44,11 @@ public class Sale {
         this.quantitySold = quantitySold;
     }
 
-    public double getTotalPrice() {
+    public Money getTotalPrice() {
         return totalPrice;
     }
 
-    public void setTotalPrice(double totalPrice) {
+    public void setTotalPrice(Money totalPrice) {
         this.totalPrice = totalPrice;
     }
 
@@ -0,0 +1,5 @@
+package com.example.application.helpers;
+
+// Stock of one product at another store, as of the last availability refresh
+public record StoreAvailability(String storeCode, String storeName, int quantityInStock) {
+}
@@ -0,0 +1,35 @@
+package com.example.application.helpers;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+// Units of a product on hand at one store; a missing row means none
+@Entity
+@Table(name = "store_stock", indexes = @Index(name = "idx_store_stock_product", columnList = "product_id"))
+public class StoreStock {
+
+    @EmbeddedId
+    private StoreStockId id;
+
+    @Column(name = "quantity_in_stock")
+    private int quantityInStock;
+
+    public StoreStockId getId() {
+        return id;
+    }
+
+    public void setId(StoreStockId id) {
+        this.id = id;
+    }
+
+    public int getQuantityInStock() {
+        return quantityInStock;
+    }
+
+    public void setQuantityInStock(int quantityInStock) {
+        this.quantityInStock = quantityInStock;
+    }
+}
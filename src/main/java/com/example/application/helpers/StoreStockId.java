@@ -0,0 +1,50 @@
+package com.example.application.helpers;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+@Embeddable
+public class StoreStockId implements Serializable {
+
+    @Column(name = "store_id")
+    private Long storeId;
+
+    @Column(name = "product_id")
+    private Long productId;
+
+    protected StoreStockId() {
+        // Required by JPA
+    }
+
+    public StoreStockId(Long storeId, Long productId) {
+        this.storeId = storeId;
+        this.productId = productId;
+    }
+
+    public Long getStoreId() {
+        return storeId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StoreStockId other)) {
+            return false;
+        }
+        return Objects.equals(storeId, other.storeId) && Objects.equals(productId, other.productId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(storeId, productId);
+    }
+}
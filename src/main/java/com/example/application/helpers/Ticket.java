@@ -12,31 +12,53 @@ import com.example.application.helpers.repos.SalespersonRepository;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 
 @Entity
+@Table(indexes = {
+    // History by day and salesperson
+    @Index(name = "idx_ticket_date_salesperson", columnList = "date, salesperson_id"),
+    // History by customer; "id" is the customer foreign key column
+    @Index(name = "idx_ticket_customer_date", columnList = "id, date")
+})
 public class Ticket {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_seq")
+    @SequenceGenerator(name = "ticket_seq", sequenceName = "ticket_seq", allocationSize = 50)
     @Column(name = "ticket_id")
     private Long ticketId;
 
-    @ManyToOne
+    // Idempotency key assigned by the register; replaying a journaled checkout finds the existing ticket
+    @Column(name = "checkout_id", unique = true, length = 36)
+    private String checkoutId;
+
+    // Lazy: list screens use TicketSummary projections, detail screens an entity graph
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "salesperson_id")
     private Salesperson salesperson;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id")  // Foreign key to the Customer's id
     private Customer customer;
 
+    // Store the sale was made at
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "store_id")
+    private StoreLocation store;
+
     private String ticketName;
-    private Double totalPrice;
+    @Column(name = "total_price_cents")
+    private Money totalPrice;
 
     @Column(name = "date")
     private LocalDateTime date = LocalDateTime.now();
@@ -54,6 +76,14 @@ public class Ticket {
         this.ticketId = ticketId;
     }
 
+    public String getCheckoutId() {
+        return checkoutId;
+    }
+
+    public void setCheckoutId(String checkoutId) {
+        this.checkoutId = checkoutId;
+    }
+
     // Getter and setter for salesperson
     public Salesperson getSalesperson() {
         return salesperson;
@@ -72,6 +102,14 @@ public class Ticket {
         this.customer = customer;
     }
 
+    public StoreLocation getStore() {
+        return store;
+    }
+
+    public void setStore(StoreLocation store) {
+        this.store = store;
+    }
+
     // Getter and setter for ticketName
     public String getTicketName() {
         return ticketName;
@@ -82,11 +120,11 @@ public class Ticket {
     }
 
     // Getter and setter for totalPrice
-    public Double getTotalPrice() {
+    public Money getTotalPrice() {
         return totalPrice;
     }
 
-    public void setTotalPrice(Double totalPrice) {
+    public void setTotalPrice(Money totalPrice) {
         this.totalPrice = totalPrice;
     }
 
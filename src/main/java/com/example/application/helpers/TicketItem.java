@@ -1,34 +1,57 @@
 package com.example.application.helpers;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 
 @Entity
 public class TicketItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence ids let Hibernate batch item inserts; IDENTITY forces one round trip per row
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_item_seq")
+    @SequenceGenerator(name = "ticket_item_seq", sequenceName = "ticket_item_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Product product;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Ticket ticket;
 
     private int quantity;
-    private double price;
+    // Line total: unit price times quantity, less the discount
+    @Column(name = "price_cents")
+    private Money price;
+
+    // Promotion discount taken off the line
+    @Column(name = "discount_cents")
+    private Money discount = Money.ZERO;
+
+    protected TicketItem() {
+        // Required by JPA
+    }
 
     public TicketItem(Product product, int quantity, Ticket ticket) {
         this.product = product;
         this.quantity = quantity;
-        this.price = product.getPrice() * quantity;
+        this.price = product.getPrice().times(quantity);
         this.ticket = ticket;  // Ensure ticket is set
     }
 
+    // Line priced at what the register charged rather than the product's current price
+    public TicketItem(Product product, int quantity, Money price, Ticket ticket) {
+        this.product = product;
+        this.quantity = quantity;
+        this.price = price;
+        this.ticket = ticket;
+    }
+
     public Long getId() {
         return id;
     }
@@ -61,11 +84,19 @@ public class TicketItem {
         this.quantity = quantity;
     }
 
-    public double getPrice() {
+    public Money getPrice() {
         return price;
     }
 
-    public void setPrice(double price) {
+    public void setPrice(Money price) {
         this.price = price;
     }
+
+    public Money getDiscount() {
+        return discount;
+    }
+
+    public void setDiscount(Money discount) {
+        this.discount = discount;
+    }
 }
@@ -0,0 +1,8 @@
+package com.example.application.helpers;
+
+import java.time.LocalDateTime;
+
+// One row of a ticket list, read in a single query without loading Ticket entities
+public record TicketSummary(Long ticketId, LocalDateTime date, String customerName, String salespersonName,
+                            Money totalPrice, long itemCount) {
+}
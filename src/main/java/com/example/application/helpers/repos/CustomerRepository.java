@@ -1,13 +1,22 @@
 package com.example.application.helpers.repos;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+
 import com.example.application.helpers.Customer;
 
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
-    Customer findByName(String name);
+    // All lookups below hit an index; nameKey is the normalized name (see Customer.normalizeName)
+    Optional<Customer> findFirstByNameKey(String nameKey);
+
+    List<Customer> findByNameKeyStartingWith(String prefix, Pageable pageable);
+
+    Optional<Customer> findFirstByPhone(String phone);
+
+    Optional<Customer> findFirstByEmail(String email);
 
     Optional<Customer> findById(Long id);
 }
-
@@ -0,0 +1,34 @@
+package com.example.application.helpers.repos;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.example.application.helpers.DailyProductSales;
+import com.example.application.helpers.DailyProductSalesId;
+
+import jakarta.persistence.QueryHint;
+
+public interface DailyProductSalesRepository extends JpaRepository<DailyProductSales, DailyProductSalesId> {
+    @Query("SELECT d FROM DailyProductSales d WHERE d.id.salesDate BETWEEN :from AND :to "
+         + "ORDER BY d.id.salesDate DESC, d.revenueCents DESC, d.id.productId")
+    List<DailyProductSales> findBetween(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable pageable);
+
+    // Single-statement upsert so concurrent checkouts add to the same row instead of racing on insert. Native
+    // writes name their table as the query space; without one Hibernate evicts every cache region on execution.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_product_sales"))
+    @Query(value = "INSERT INTO daily_product_sales (sales_date, product_id, quantity_sold, revenue_cents) "
+                 + "VALUES (:salesDate, :productId, :quantity, :revenueCents) "
+                 + "ON DUPLICATE KEY UPDATE quantity_sold = quantity_sold + :quantity, revenue_cents = revenue_cents + :revenueCents",
+           nativeQuery = true)
+    int addSale(@Param("salesDate") LocalDate salesDate, @Param("productId") Long productId,
+                @Param("quantity") long quantity, @Param("revenueCents") long revenueCents);
+}
@@ -0,0 +1,39 @@
+package com.example.application.helpers.repos;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.example.application.helpers.DailyRevenue;
+import com.example.application.helpers.DailySalespersonSales;
+import com.example.application.helpers.DailySalespersonSalesId;
+
+import jakarta.persistence.QueryHint;
+
+public interface DailySalespersonSalesRepository extends JpaRepository<DailySalespersonSales, DailySalespersonSalesId> {
+    @Query("SELECT d FROM DailySalespersonSales d WHERE d.id.salesDate BETWEEN :from AND :to "
+         + "ORDER BY d.id.salesDate DESC, d.revenueCents DESC")
+    List<DailySalespersonSales> findBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // One row per day per salesperson, so this stays O(days) regardless of ticket volume
+    @Query("SELECT new com.example.application.helpers.DailyRevenue(d.id.salesDate, SUM(d.ticketCount), SUM(d.quantitySold), SUM(d.revenueCents)) "
+         + "FROM DailySalespersonSales d WHERE d.id.salesDate BETWEEN :from AND :to "
+         + "GROUP BY d.id.salesDate ORDER BY d.id.salesDate DESC")
+    List<DailyRevenue> findDailyRevenue(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_salesperson_sales"))
+    @Query(value = "INSERT INTO daily_salesperson_sales (sales_date, salesperson_id, ticket_count, quantity_sold, revenue_cents) "
+                 + "VALUES (:salesDate, :salespersonId, 1, :quantity, :revenueCents) "
+                 + "ON DUPLICATE KEY UPDATE ticket_count = ticket_count + 1, quantity_sold = quantity_sold + :quantity, "
+                 + "revenue_cents = revenue_cents + :revenueCents",
+           nativeQuery = true)
+    int addTicket(@Param("salesDate") LocalDate salesDate, @Param("salespersonId") Long salespersonId,
+                  @Param("quantity") long quantity, @Param("revenueCents") long revenueCents);
+}
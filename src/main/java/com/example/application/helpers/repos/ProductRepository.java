@@ -1,12 +1,53 @@
 package com.example.application.helpers.repos;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.application.helpers.Money;
 import com.example.application.helpers.Product;
+import com.example.application.helpers.ProductRecord;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
-    Product findByNameAndPrice(String name, double price);
-}
+    // Catalog snapshot rows with one store's stock, read as projections so no entities are loaded or cached
+    String RECORD_SELECT = "SELECT new com.example.application.helpers.ProductRecord("
+        + "p.productId, p.sku, p.name, p.price, COALESCE(s.quantityInStock, 0)) FROM Product p "
+        + "LEFT JOIN StoreStock s ON s.id.productId = p.productId AND s.id.storeId = :storeId ";
+
+    // Names aren't unique, so an import row without a SKU can match several products
+    List<Product> findByNameAndPrice(String name, Money price);
 
+    // Cursor over the whole catalog for exports; callers must consume it inside a transaction and close it
+    // CacheMode IGNORE: each row is read once, so it must not be put into or evict the second-level cache
+    @Query("SELECT p FROM Product p ORDER BY p.productId")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    Stream<Product> streamAllBy();
+
+    // [sku, productId] pairs for the in-memory scan index
+    @Query("SELECT p.sku, p.productId FROM Product p WHERE p.sku IS NOT NULL")
+    List<Object[]> findSkuIndexEntries();
+
+    // Ticket items keep a foreign key to their product, so a product that was ever sold can't be deleted
+    @Query("SELECT CASE WHEN COUNT(i) > 0 THEN true ELSE false END FROM TicketItem i WHERE i.product.productId = :productId")
+    boolean isOnAnyTicket(@Param("productId") Long productId);
+
+    @Query(RECORD_SELECT)
+    List<ProductRecord> findAllRecords(@Param("storeId") Long storeId);
+
+    @Query(RECORD_SELECT + "WHERE p.productId IN :productIds")
+    List<ProductRecord> findRecordsByIdIn(@Param("productIds") Collection<Long> productIds, @Param("storeId") Long storeId);
+}
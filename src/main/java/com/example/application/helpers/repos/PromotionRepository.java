@@ -0,0 +1,16 @@
+package com.example.application.helpers.repos;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.application.helpers.Promotion;
+
+public interface PromotionRepository extends JpaRepository<Promotion, Long> {
+    // Running now or starting later; the engine compiles the running ones and notes when the next one starts
+    @Query("SELECT p FROM Promotion p WHERE p.active = true AND (p.endsAt IS NULL OR p.endsAt > :now)")
+    List<Promotion> findCurrentAndUpcoming(@Param("now") LocalDateTime now);
+}
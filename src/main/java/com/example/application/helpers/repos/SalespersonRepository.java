@@ -1,8 +1,17 @@
 package com.example.application.helpers.repos;
 
 import com.example.application.helpers.Salesperson;
+
+import jakarta.persistence.QueryHint;
+
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface SalespersonRepository extends JpaRepository<Salesperson, Long> {
-    
+    // Served from the second-level query cache until a salesperson is written
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Salesperson> findAllByOrderByNameAsc();
 }
@@ -0,0 +1,11 @@
+package com.example.application.helpers.repos;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.example.application.helpers.StoreLocation;
+
+public interface StoreLocationRepository extends JpaRepository<StoreLocation, Long> {
+    Optional<StoreLocation> findByCode(String code);
+}
@@ -0,0 +1,42 @@
+package com.example.application.helpers.repos;
+
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.application.helpers.StoreStock;
+import com.example.application.helpers.StoreStockId;
+
+import jakarta.persistence.QueryHint;
+
+public interface StoreStockRepository extends JpaRepository<StoreStock, StoreStockId> {
+    // Atomic check-and-decrement; returns 0 instead of letting stock go negative
+    @Modifying
+    @Query("UPDATE StoreStock s SET s.quantityInStock = s.quantityInStock - :quantity "
+         + "WHERE s.id.storeId = :storeId AND s.id.productId = :productId AND s.quantityInStock >= :quantity")
+    int decrementStock(@Param("storeId") Long storeId, @Param("productId") Long productId, @Param("quantity") int quantity);
+
+    // Inventory edits set the count outright; the row is created on first use
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "store_stock"))
+    @Query(value = "INSERT INTO store_stock (store_id, product_id, quantity_in_stock) VALUES (:storeId, :productId, :quantity) "
+                 + "ON DUPLICATE KEY UPDATE quantity_in_stock = :quantity",
+           nativeQuery = true)
+    int setStock(@Param("storeId") Long storeId, @Param("productId") Long productId, @Param("quantity") int quantity);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM StoreStock s WHERE s.id.productId = :productId")
+    int deleteByProductId(@Param("productId") Long productId);
+
+    // [productId, storeId, quantityInStock] for every store that has the product, for the availability index
+    @Query("SELECT s.id.productId, s.id.storeId, s.quantityInStock FROM StoreStock s WHERE s.quantityInStock > 0")
+    List<Object[]> findInStockEntries();
+}
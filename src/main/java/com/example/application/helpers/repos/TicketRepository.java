@@ -1,9 +1,58 @@
 package com.example.application.helpers.repos;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.example.application.helpers.Ticket;
+import com.example.application.helpers.TicketSummary;
 
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
-    
+    String SUMMARY_SELECT = "SELECT new com.example.application.helpers.TicketSummary("
+        + "t.ticketId, t.date, c.name, s.name, t.totalPrice, COUNT(i)) "
+        + "FROM Ticket t LEFT JOIN t.customer c LEFT JOIN t.salesperson s LEFT JOIN t.ticketItems i ";
+    String SUMMARY_GROUP_BY = " GROUP BY t.ticketId, t.date, c.name, s.name, t.totalPrice";
+
+    // A whole ticket with its items and their products in one query (receipts, detail screens)
+    @EntityGraph(attributePaths = { "salesperson", "customer", "ticketItems", "ticketItems.product" })
+    Optional<Ticket> findWithItemsByTicketId(Long ticketId);
+
+    @EntityGraph(attributePaths = { "salesperson", "customer", "ticketItems", "ticketItems.product" })
+    Optional<Ticket> findWithItemsByCheckoutId(String checkoutId);
+
+    Optional<Ticket> findByCheckoutId(String checkoutId);
+
+    // Sales history as projections: one query per page however many tickets or items it covers,
+    // served by the (date, salesperson_id) and (id, date) indexes on Ticket. A List rather than a Page, so no
+    // count query runs per page; grids count once with countByDateBetween.
+    @Query(SUMMARY_SELECT + "WHERE t.date BETWEEN :from AND :to" + SUMMARY_GROUP_BY)
+    List<TicketSummary> findSummariesByDateBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                                   Pageable pageable);
+
+    long countByDateBetween(LocalDateTime from, LocalDateTime to);
+
+    // The same history narrowed to one salesperson or one customer (dashboard ticket filters)
+    @Query(SUMMARY_SELECT + "WHERE s.id = :salespersonId AND t.date BETWEEN :from AND :to" + SUMMARY_GROUP_BY)
+    List<TicketSummary> findSummariesBySalesperson(@Param("salespersonId") Long salespersonId,
+                                                   @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                                   Pageable pageable);
+
+    @Query("SELECT COUNT(t) FROM Ticket t WHERE t.salesperson.id = :salespersonId AND t.date BETWEEN :from AND :to")
+    long countBySalesperson(@Param("salespersonId") Long salespersonId,
+                            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query(SUMMARY_SELECT + "WHERE c.id = :customerId AND t.date BETWEEN :from AND :to" + SUMMARY_GROUP_BY)
+    List<TicketSummary> findSummariesByCustomer(@Param("customerId") Long customerId,
+                                                @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                                Pageable pageable);
+
+    @Query("SELECT COUNT(t) FROM Ticket t WHERE t.customer.id = :customerId AND t.date BETWEEN :from AND :to")
+    long countByCustomer(@Param("customerId") Long customerId,
+                         @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,143 @@
+package com.example.application.services;
+
+import java.util.Arrays;
+
+// The lines of an open ticket: productIds and quantities in parallel primitive arrays, in the order they were
+// added. A ticket has a handful of lines, so linear scans beat hashing and nothing is boxed or keyed by entity.
+public final class CartLines {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private long[] productIds = new long[INITIAL_CAPACITY];
+    private int[] quantities = new int[INITIAL_CAPACITY];
+    private int size;
+
+    @FunctionalInterface
+    public interface LineConsumer {
+        void accept(long productId, int quantity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int quantity(long productId) {
+        int index = indexOf(productId);
+        return index < 0 ? 0 : quantities[index];
+    }
+
+    // Sets the line's quantity, adding the line if needed; zero removes it
+    public void set(long productId, int quantity) {
+        int index = indexOf(productId);
+        if (quantity <= 0) {
+            if (index >= 0) {
+                removeAt(index);
+            }
+            return;
+        }
+        if (index >= 0) {
+            quantities[index] = quantity;
+            return;
+        }
+        if (size == productIds.length) {
+            productIds = Arrays.copyOf(productIds, size * 2);
+            quantities = Arrays.copyOf(quantities, size * 2);
+        }
+        productIds[size] = productId;
+        quantities[size] = quantity;
+        size++;
+    }
+
+    public void add(long productId, int quantity) {
+        set(productId, quantity(productId) + quantity);
+    }
+
+    public long productIdAt(int index) {
+        return productIds[index];
+    }
+
+    public int quantityAt(int index) {
+        return quantities[index];
+    }
+
+    public void forEach(LineConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            consumer.accept(productIds[i], quantities[i]);
+        }
+    }
+
+    // Compact form for parking: [line count][productId][quantity]..., each an unsigned LEB128 varint, so a
+    // typical line takes 3-5 bytes instead of an object graph
+    public byte[] toBytes() {
+        byte[] buffer = new byte[5 + size * 15];
+        int position = writeVarint(buffer, 0, size);
+        for (int i = 0; i < size; i++) {
+            position = writeVarint(buffer, position, productIds[i]);
+            position = writeVarint(buffer, position, quantities[i]);
+        }
+        return Arrays.copyOf(buffer, position);
+    }
+
+    // Lines were unique when encoded, so they are appended directly: O(lines), no lookups
+    public static CartLines fromBytes(byte[] bytes) {
+        CartLines lines = new CartLines();
+        int[] position = { 0 };
+        int count = (int) readVarint(bytes, position);
+        lines.productIds = new long[Math.max(INITIAL_CAPACITY, count)];
+        lines.quantities = new int[Math.max(INITIAL_CAPACITY, count)];
+        for (int i = 0; i < count; i++) {
+            lines.productIds[i] = readVarint(bytes, position);
+            lines.quantities[i] = (int) readVarint(bytes, position);
+        }
+        lines.size = count;
+        return lines;
+    }
+
+    public void clear() {
+        size = 0;
+        if (productIds.length > INITIAL_CAPACITY) {
+            productIds = new long[INITIAL_CAPACITY];
+            quantities = new int[INITIAL_CAPACITY];
+        }
+    }
+
+    private int indexOf(long productId) {
+        for (int i = 0; i < size; i++) {
+            if (productIds[i] == productId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int writeVarint(byte[] buffer, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+
+    private static long readVarint(byte[] bytes, int[] position) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = bytes[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed cart encoding");
+    }
+
+    private void removeAt(int index) {
+        int tail = size - index - 1;
+        System.arraycopy(productIds, index + 1, productIds, index, tail);
+        System.arraycopy(quantities, index + 1, quantities, index, tail);
+        size--;
+    }
+}
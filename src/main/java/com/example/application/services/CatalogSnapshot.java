@@ -0,0 +1,223 @@
+package com.example.application.services;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.example.application.helpers.ProductRecord;
+
+// Immutable view of the whole catalog shared by every session. Rows are kept in productId order for binary
+// search lookups, and each sortable column has a precomputed order (row indexes), so a grid page is an array
+// slice with no per-session copies. Changes produce a new snapshot; an order whose column changed is patched by
+// merging the moved rows back in, so a stock change costs one pass over the order rather than a full sort.
+public final class CatalogSnapshot {
+    private static final CatalogSnapshot EMPTY = new CatalogSnapshot(new ProductRecord[0], null);
+
+    public enum SortKey {
+        SKU(ProductRecord::sku, Comparator.comparing(ProductRecord::sku, Comparator.nullsLast(Comparator.naturalOrder()))),
+        NAME(ProductRecord::name, Comparator.comparing(ProductRecord::name, Comparator.nullsLast(Comparator.naturalOrder()))),
+        PRICE(ProductRecord::priceCents, Comparator.comparingLong(ProductRecord::priceCents)),
+        STOCK(ProductRecord::quantityInStock, Comparator.comparingInt(ProductRecord::quantityInStock));
+
+        private final Function<ProductRecord, Object> column;
+        private final Comparator<ProductRecord> comparator;
+
+        SortKey(Function<ProductRecord, Object> column, Comparator<ProductRecord> comparator) {
+            this.column = column;
+            this.comparator = comparator.thenComparingLong(ProductRecord::productId);
+        }
+
+        // Grid column keys match the ProductRecord component names
+        public static SortKey forProperty(String property) {
+            return switch (property) {
+                case "sku" -> SKU;
+                case "name" -> NAME;
+                case "price" -> PRICE;
+                case "quantityInStock" -> STOCK;
+                default -> throw new IllegalArgumentException("Not a sortable catalog column: " + property);
+            };
+        }
+    }
+
+    private final ProductRecord[] records;
+    private final long[] productIds;
+    private final int[][] orders;
+
+    private CatalogSnapshot(ProductRecord[] records, int[][] previousOrders) {
+        this.records = records;
+        this.productIds = new long[records.length];
+        for (int i = 0; i < records.length; i++) {
+            productIds[i] = records[i].productId();
+        }
+        this.orders = previousOrders != null ? previousOrders : new int[SortKey.values().length][];
+        for (SortKey key : SortKey.values()) {
+            if (orders[key.ordinal()] == null) {
+                orders[key.ordinal()] = sortOrder(key);
+            }
+        }
+    }
+
+    public static CatalogSnapshot empty() {
+        return EMPTY;
+    }
+
+    public static CatalogSnapshot of(Collection<ProductRecord> records) {
+        ProductRecord[] sorted = records.toArray(ProductRecord[]::new);
+        Arrays.sort(sorted, Comparator.comparingLong(ProductRecord::productId));
+        return new CatalogSnapshot(sorted, null);
+    }
+
+    public int size() {
+        return records.length;
+    }
+
+    public ProductRecord get(long productId) {
+        int index = Arrays.binarySearch(productIds, productId);
+        return index >= 0 ? records[index] : null;
+    }
+
+    // Rows [offset, offset + limit) in the given order; a null key means productId order
+    public Stream<ProductRecord> page(int offset, int limit, SortKey key, boolean ascending) {
+        int from = Math.min(offset, records.length);
+        int to = (int) Math.min((long) offset + limit, records.length);
+        int[] order = key == null ? null : orders[key.ordinal()];
+        int last = records.length - 1;
+        return IntStream.range(from, to)
+            .map(i -> ascending ? i : last - i)
+            .mapToObj(i -> records[order == null ? i : order[i]]);
+    }
+
+    // New snapshot with the given rows added or replaced and the given ids removed
+    public CatalogSnapshot withChanges(Collection<ProductRecord> changed, Set<Long> removed) {
+        if (changed.isEmpty() && removed.isEmpty()) {
+            return this;
+        }
+
+        boolean structural = !removed.isEmpty() || changed.stream().anyMatch(record -> get(record.productId()) == null);
+        if (structural) {
+            Map<Long, ProductRecord> merged = new HashMap<>(records.length + changed.size());
+            for (ProductRecord record : records) {
+                merged.put(record.productId(), record);
+            }
+            removed.forEach(merged::remove);
+            changed.forEach(record -> merged.put(record.productId(), record));
+            return of(merged.values());
+        }
+
+        // Same rows in the same positions: copy the array, keep every order whose column is unchanged and patch
+        // the others
+        ProductRecord[] updated = records.clone();
+        SortKey[] keys = SortKey.values();
+        int[][] moved = new int[keys.length][changed.size()];
+        int[] movedCount = new int[keys.length];
+        for (ProductRecord record : changed) {
+            int index = Arrays.binarySearch(productIds, record.productId());
+            for (SortKey key : keys) {
+                if (!Objects.equals(key.column.apply(updated[index]), key.column.apply(record))) {
+                    moved[key.ordinal()][movedCount[key.ordinal()]++] = index;
+                }
+            }
+            updated[index] = record;
+        }
+        int[][] patchedOrders = orders.clone();
+        for (SortKey key : keys) {
+            if (movedCount[key.ordinal()] > 0) {
+                patchedOrders[key.ordinal()] = patchOrder(orders[key.ordinal()],
+                    distinctSorted(moved[key.ordinal()], movedCount[key.ordinal()]), comparator(key, updated));
+            }
+        }
+        return new CatalogSnapshot(updated, patchedOrders);
+    }
+
+    // Ids added, removed or with a different row compared to the previous snapshot; a merge over both id arrays
+    public Set<Long> changedSince(CatalogSnapshot previous) {
+        Set<Long> changed = new HashSet<>();
+        int i = 0;
+        int j = 0;
+        while (i < productIds.length || j < previous.productIds.length) {
+            if (j == previous.productIds.length || (i < productIds.length && productIds[i] < previous.productIds[j])) {
+                changed.add(productIds[i++]);
+            } else if (i == productIds.length || previous.productIds[j] < productIds[i]) {
+                changed.add(previous.productIds[j++]);
+            } else {
+                if (!records[i].equals(previous.records[j])) {
+                    changed.add(productIds[i]);
+                }
+                i++;
+                j++;
+            }
+        }
+        return changed;
+    }
+
+    private int[] sortOrder(SortKey key) {
+        int[] order = new int[records.length];
+        Arrays.setAll(order, i -> i);
+        sort(order, comparator(key, records));
+        return order;
+    }
+
+    private static IntBinaryOperator comparator(SortKey key, ProductRecord[] rows) {
+        return (a, b) -> key.comparator.compare(rows[a], rows[b]);
+    }
+
+    // The order without the moved rows is still sorted, so the moved rows are sorted on their own and merged in
+    private static int[] patchOrder(int[] order, int[] moved, IntBinaryOperator comparator) {
+        int[] movedInOrder = moved.clone();
+        sort(movedInOrder, comparator);
+        int[] patched = new int[order.length];
+        int k = 0;
+        int m = 0;
+        for (int index : order) {
+            if (Arrays.binarySearch(moved, index) >= 0) {
+                continue;
+            }
+            while (m < movedInOrder.length && comparator.applyAsInt(movedInOrder[m], index) < 0) {
+                patched[k++] = movedInOrder[m++];
+            }
+            patched[k++] = index;
+        }
+        while (m < movedInOrder.length) {
+            patched[k++] = movedInOrder[m++];
+        }
+        return patched;
+    }
+
+    private static int[] distinctSorted(int[] indexes, int count) {
+        int[] sorted = Arrays.copyOf(indexes, count);
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, distinct);
+    }
+
+    // Stable bottom-up merge sort of row indexes, so sorting never boxes an index to use a Comparator
+    private static void sort(int[] indexes, IntBinaryOperator comparator) {
+        int[] buffer = new int[indexes.length];
+        for (int width = 1; width < indexes.length; width *= 2) {
+            for (int lo = 0; lo < indexes.length - width; lo += 2 * width) {
+                int mid = lo + width;
+                int hi = Math.min(lo + 2 * width, indexes.length);
+                System.arraycopy(indexes, lo, buffer, lo, hi - lo);
+                int i = lo;
+                int j = mid;
+                for (int k = lo; k < hi; k++) {
+                    indexes[k] = i < mid && (j == hi || comparator.applyAsInt(buffer[i], buffer[j]) <= 0) ? buffer[i++] : buffer[j++];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,378 @@
+package com.example.application.services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.application.services.CheckoutRequest.CheckoutLine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+// Write-ahead log for checkouts. A register's checkout is acknowledged as soon as its entry is fsync'd to an
+// append-only segment file; a scheduled drainer then applies entries to the database in batches, so a slow or
+// unreachable database delays the ticket rows, not the customer. Entries are applied through
+// CheckoutService, which is idempotent on checkoutId, and a checkpoint file records how far the segment has
+// been applied. On restart everything past the checkpoint is replayed; a torn tail entry is discarded.
+//
+// Entry layout: [int payloadLength][int crc32c(payload)][payload]
+// Payload: uuid msb, uuid lsb, customerId, salespersonId, createdAt epoch second, createdAt nano,
+//          line count, then per line: productId, quantity, unit price in cents, discount in cents
+@Component
+public class CheckoutJournal {
+    private static final Logger log = LoggerFactory.getLogger(CheckoutJournal.class);
+    // Part of the file names, so a segment written in an older layout is never replayed by this code
+    private static final int FORMAT_VERSION = 3;
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int FIXED_PAYLOAD_BYTES = Long.BYTES * 5 + Integer.BYTES * 2;
+    private static final int LINE_BYTES = Long.BYTES * 3 + Integer.BYTES;
+    private static final int DRAIN_BATCH_SIZE = 100;
+    // Once everything is applied the segment is truncated if it has grown past this
+    private static final long COMPACT_THRESHOLD_BYTES = 64L * 1024 * 1024;
+
+    private final CheckoutService checkoutService;
+    private final TransactionTemplate transactionTemplate;
+    private final PosMetrics metrics;
+    private final StockReservationService reservations;
+    private final Path segmentPath;
+    private final Path checkpointPath;
+    private final Path rejectedPath;
+    private final FileChannel segment;
+    private final ConcurrentLinkedDeque<Entry> unapplied = new ConcurrentLinkedDeque<>();
+    // The deque's size() walks every node, so its length is kept here for the gauge and pendingCount
+    private final AtomicInteger unappliedCount = new AtomicInteger();
+    private final Map<UUID, CheckoutRequest> pending = new ConcurrentHashMap<>();
+    private final Counter appliedCounter;
+    private final Counter rejectedCounter;
+    // Guards the segment's tail; a lock rather than synchronized, so a virtual thread waiting on force() doesn't
+    // pin its carrier
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private long writePosition;
+
+    public CheckoutJournal(CheckoutService checkoutService, PlatformTransactionManager transactionManager,
+                           PosMetrics metrics, StockReservationService reservations, MeterRegistry registry,
+                           @Value("${pos.journal.directory:journal}") Path directory) throws IOException {
+        this.checkoutService = checkoutService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.metrics = metrics;
+        this.reservations = reservations;
+        Files.createDirectories(directory);
+        this.segmentPath = directory.resolve("checkout-v" + FORMAT_VERSION + ".journal");
+        this.checkpointPath = directory.resolve("checkout-v" + FORMAT_VERSION + ".checkpoint");
+        this.rejectedPath = directory.resolve("checkout-v" + FORMAT_VERSION + ".rejected");
+        // Version 1 stored prices as double bits and version 2 had no discounts; neither can be replayed here
+        for (Path legacySegment : List.of(directory.resolve("checkout.journal"), directory.resolve("checkout-v2.journal"))) {
+            if (Files.exists(legacySegment) && Files.size(legacySegment) > 0) {
+                log.warn("Ignoring {} written by an older version; drain it with that version before upgrading", legacySegment);
+            }
+        }
+        this.segment = FileChannel.open(segmentPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        this.appliedCounter = Counter.builder("pos.journal.applied")
+            .description("Journaled checkouts written to the database")
+            .register(registry);
+        this.rejectedCounter = Counter.builder("pos.journal.rejected")
+            .description("Journaled checkouts that could not be applied and were moved to the rejected file")
+            .register(registry);
+        registry.gauge("pos.journal.pending", unappliedCount);
+        recover();
+        // Replayed checkouts keep their stock held until applied, as they did before the restart
+        pending.values().forEach(reservations::commitReplayed);
+    }
+
+    // Durably records the checkout and returns once it is on disk; the ticket rows follow asynchronously
+    public CheckoutRequest append(CheckoutRequest request) {
+        ByteBuffer entry = encode(request);
+        Timer.Sample sample = metrics.start();
+        writeLock.lock();
+        try {
+            long position = writePosition;
+            while (entry.hasRemaining()) {
+                position += segment.write(entry, position);
+            }
+            segment.force(false);
+            writePosition = position;
+            pending.put(request.checkoutId(), request);
+            unapplied.addLast(new Entry(request, position));
+            unappliedCount.incrementAndGet();
+            return request;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to journal checkout " + request.checkoutId(), e);
+        } finally {
+            writeLock.unlock();
+            metrics.stop(sample, "pos.journal.append");
+        }
+    }
+
+    // Acknowledged but not yet applied, for rendering receipts before the ticket exists
+    public Optional<CheckoutRequest> findPending(UUID checkoutId) {
+        return Optional.ofNullable(pending.get(checkoutId));
+    }
+
+    public int pendingCount() {
+        return unappliedCount.get();
+    }
+
+    @Scheduled(fixedDelayString = "${pos.journal.drain-interval-ms:500}")
+    public void drain() {
+        while (!unapplied.isEmpty()) {
+            List<Entry> batch = new ArrayList<>(DRAIN_BATCH_SIZE);
+            for (Entry entry : unapplied) {
+                batch.add(entry);
+                if (batch.size() == DRAIN_BATCH_SIZE) {
+                    break;
+                }
+            }
+
+            try {
+                // The whole batch in one transaction; CheckoutService joins it
+                transactionTemplate.executeWithoutResult(status -> batch.forEach(entry -> checkoutService.checkout(entry.request())));
+            } catch (RuntimeException e) {
+                if (isTransient(e)) {
+                    log.warn("Database unavailable, {} journaled checkouts waiting", unappliedCount.get());
+                    return;
+                }
+                // One bad entry poisons the batch; apply one at a time to isolate it
+                for (Entry entry : batch) {
+                    if (!applySingly(entry)) {
+                        return;
+                    }
+                }
+                continue;
+            }
+            // One checkpoint write per batch rather than per entry
+            writeCheckpoint(batch.get(batch.size() - 1).endOffset());
+            batch.forEach(this::forget);
+            appliedCounter.increment(batch.size());
+        }
+        compactIfIdle();
+    }
+
+    private boolean applySingly(Entry entry) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> checkoutService.checkout(entry.request()));
+            markApplied(entry);
+        } catch (RuntimeException e) {
+            if (isTransient(e)) {
+                return false;
+            }
+            reject(entry, e);
+        }
+        return true;
+    }
+
+    private void markApplied(Entry entry) {
+        writeCheckpoint(entry.endOffset());
+        forget(entry);
+        appliedCounter.increment();
+    }
+
+    // Called once the entry's transaction has committed and the catalog snapshot shows its stock change. The
+    // drainer applies or rejects entries strictly in journal order, so this one is always at the head.
+    private void forget(Entry entry) {
+        unapplied.pollFirst();
+        unappliedCount.decrementAndGet();
+        pending.remove(entry.request().checkoutId());
+        reservations.settle(entry.request().checkoutId());
+    }
+
+    // Stock conflicts (another register sold the last unit while this one was offline) and other permanent
+    // failures are kept for manual reconciliation instead of blocking the entries behind them.
+    // The rejected file uses the same entry layout as the segment.
+    private void reject(Entry entry, RuntimeException cause) {
+        log.error("Rejected journaled checkout {}", entry.request().checkoutId(), cause);
+        if (cause instanceof InsufficientStockException) {
+            metrics.stockConflict();
+        }
+        try {
+            Files.write(rejectedPath, encode(entry.request()).array(), StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to record rejected checkout " + entry.request().checkoutId(), e);
+        }
+        writeCheckpoint(entry.endOffset());
+        forget(entry);
+        rejectedCounter.increment();
+    }
+
+    private static boolean isTransient(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException || cause instanceof RecoverableDataAccessException
+                || cause instanceof DataAccessResourceFailureException || cause instanceof CannotCreateTransactionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void compactIfIdle() {
+        writeLock.lock();
+        try {
+            if (unapplied.isEmpty() && writePosition > COMPACT_THRESHOLD_BYTES) {
+                // Checkpoint first: a crash between the two leaves an applied segment to replay, never a
+                // checkpoint past the end of a segment that new entries are appended to
+                writeCheckpoint(0);
+                segment.truncate(0);
+                segment.force(true);
+                writePosition = 0;
+            }
+        } catch (IOException e) {
+            log.warn("Unable to compact checkout journal", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void writeCheckpoint(long offset) {
+        // If a crash leaves the checkpoint stale, replay is harmless: applying an entry is idempotent
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES).putLong(offset);
+        try {
+            Files.write(checkpointPath, buffer.array(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.DSYNC);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write journal checkpoint", e);
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+        if (!Files.exists(checkpointPath)) {
+            return 0;
+        }
+        byte[] bytes = Files.readAllBytes(checkpointPath);
+        return bytes.length == Long.BYTES ? ByteBuffer.wrap(bytes).getLong() : 0;
+    }
+
+    // Reloads every entry past the checkpoint and cuts off a partially written tail
+    private void recover() throws IOException {
+        long size = segment.size();
+        long position = readCheckpoint();
+        if (position > size) {
+            // Left by a compaction that truncated the segment before its checkpoint was reset; everything in
+            // the segment was appended after it, so replay from the start
+            log.warn("Journal checkpoint {} is past the end of the {} byte segment, replaying from the start", position, size);
+            position = 0;
+            writeCheckpoint(0);
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (position + HEADER_BYTES <= size) {
+            header.clear();
+            readFully(header, position);
+            int length = header.getInt(0);
+            int crc = header.getInt(Integer.BYTES);
+            if (length < FIXED_PAYLOAD_BYTES || position + HEADER_BYTES + length > size) {
+                break;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(payload, position + HEADER_BYTES);
+            if (crc(payload.array()) != crc) {
+                break;
+            }
+            position += HEADER_BYTES + length;
+            CheckoutRequest request = decode(payload.flip());
+            pending.put(request.checkoutId(), request);
+            unapplied.addLast(new Entry(request, position));
+            unappliedCount.incrementAndGet();
+        }
+        if (position < size) {
+            log.warn("Discarding {} bytes of incomplete checkout journal entry", size - position);
+            segment.truncate(position);
+            segment.force(true);
+        }
+        writePosition = position;
+        if (!unapplied.isEmpty()) {
+            log.info("Replaying {} journaled checkouts", unappliedCount.get());
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = segment.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of checkout journal");
+            }
+        }
+    }
+
+    private static ByteBuffer encode(CheckoutRequest request) {
+        int length = FIXED_PAYLOAD_BYTES + request.lines().size() * LINE_BYTES;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + length);
+        buffer.position(HEADER_BYTES);
+        buffer.putLong(request.checkoutId().getMostSignificantBits());
+        buffer.putLong(request.checkoutId().getLeastSignificantBits());
+        buffer.putLong(request.customerId());
+        buffer.putLong(request.salespersonId());
+        buffer.putLong(request.createdAt().toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(request.createdAt().getNano());
+        buffer.putInt(request.lines().size());
+        for (CheckoutLine line : request.lines()) {
+            buffer.putLong(line.productId());
+            buffer.putInt(line.quantity());
+            buffer.putLong(line.unitPriceCents());
+            buffer.putLong(line.discountCents());
+        }
+        buffer.putInt(0, length);
+        buffer.putInt(Integer.BYTES, crc(buffer.array(), HEADER_BYTES, length));
+        return buffer.flip();
+    }
+
+    private static CheckoutRequest decode(ByteBuffer payload) {
+        UUID checkoutId = new UUID(payload.getLong(), payload.getLong());
+        long customerId = payload.getLong();
+        long salespersonId = payload.getLong();
+        LocalDateTime createdAt = LocalDateTime.ofEpochSecond(payload.getLong(), payload.getInt(), ZoneOffset.UTC);
+        int lineCount = payload.getInt();
+        List<CheckoutLine> lines = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            lines.add(new CheckoutLine(payload.getLong(), payload.getInt(), payload.getLong(), payload.getLong()));
+        }
+        return new CheckoutRequest(checkoutId, customerId, salespersonId, createdAt, lines);
+    }
+
+    private static int crc(byte[] bytes) {
+        return crc(bytes, 0, bytes.length);
+    }
+
+    private static int crc(byte[] bytes, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        segment.close();
+    }
+
+    private record Entry(CheckoutRequest request, long endOffset) {
+    }
+}
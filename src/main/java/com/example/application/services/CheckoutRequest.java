@@ -0,0 +1,60 @@
+package com.example.application.services;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.example.application.helpers.Money;
+
+// A checkout as the register acknowledged it. The checkoutId is generated at the register and becomes the
+// ticket's idempotency key, so replaying the same request after a crash never creates a second ticket.
+// Unit prices and discounts are the ones the customer was charged, not whatever the catalog and promotions
+// say when the entry is applied.
+public record CheckoutRequest(UUID checkoutId, Long customerId, Long salespersonId, LocalDateTime createdAt,
+                              List<CheckoutLine> lines) {
+
+    public CheckoutRequest {
+        if (lines.isEmpty()) {
+            throw new IllegalArgumentException("Ticket has no items");
+        }
+        lines = List.copyOf(lines);
+    }
+
+    public static CheckoutRequest create(Long customerId, Long salespersonId, List<CheckoutLine> lines) {
+        return create(UUID.randomUUID(), customerId, salespersonId, lines);
+    }
+
+    // For a ticket whose id was chosen when it was opened (its stock holds are keyed by it)
+    public static CheckoutRequest create(UUID checkoutId, Long customerId, Long salespersonId, List<CheckoutLine> lines) {
+        return new CheckoutRequest(checkoutId, customerId, salespersonId, LocalDateTime.now(), lines);
+    }
+
+    public long totalCents() {
+        long total = 0;
+        for (CheckoutLine line : lines) {
+            total = Money.plus(total, line.lineTotalCents());
+        }
+        return total;
+    }
+
+    // Summed per product, as stock is held and decremented
+    public Map<Long, Integer> quantitiesByProductId() {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (CheckoutLine line : lines) {
+            quantities.merge(line.productId(), line.quantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    public record CheckoutLine(Long productId, int quantity, long unitPriceCents, long discountCents) {
+        public CheckoutLine(Long productId, int quantity, long unitPriceCents) {
+            this(productId, quantity, unitPriceCents, 0);
+        }
+
+        public long lineTotalCents() {
+            return Money.times(unitPriceCents, quantity) - discountCents;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.application.services;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.application.helpers.Money;
+import com.example.application.helpers.Product;
+import com.example.application.helpers.Sale;
+import com.example.application.helpers.Salesperson;
+import com.example.application.helpers.Ticket;
+import com.example.application.helpers.TicketItem;
+import com.example.application.helpers.repos.CustomerRepository;
+import com.example.application.helpers.repos.DailyProductSalesRepository;
+import com.example.application.helpers.repos.DailySalespersonSalesRepository;
+import com.example.application.helpers.repos.ProductRepository;
+import com.example.application.helpers.repos.SaleRepository;
+import com.example.application.helpers.repos.SalespersonRepository;
+import com.example.application.helpers.repos.StoreLocationRepository;
+import com.example.application.helpers.repos.StoreStockRepository;
+import com.example.application.helpers.repos.TicketRepository;
+import com.example.application.services.CheckoutRequest.CheckoutLine;
+
+@Service
+public class CheckoutService {
+    private final ProductRepository productRepository;
+    private final TicketRepository ticketRepository;
+    private final SaleRepository saleRepository;
+    private final CustomerRepository customerRepository;
+    private final SalespersonRepository salespersonRepository;
+    private final DailyProductSalesRepository dailyProductSalesRepository;
+    private final DailySalespersonSalesRepository dailySalespersonSalesRepository;
+    private final ProductCatalogCache catalogCache;
+    private final PromotionService promotionService;
+    private final StoreStockRepository storeStockRepository;
+    private final StoreLocationRepository storeLocationRepository;
+    private final CurrentStore currentStore;
+
+    public CheckoutService(ProductRepository productRepository, TicketRepository ticketRepository, SaleRepository saleRepository,
+                           CustomerRepository customerRepository, SalespersonRepository salespersonRepository,
+                           DailyProductSalesRepository dailyProductSalesRepository,
+                           DailySalespersonSalesRepository dailySalespersonSalesRepository,
+                           ProductCatalogCache catalogCache, PromotionService promotionService,
+                           StoreStockRepository storeStockRepository, StoreLocationRepository storeLocationRepository,
+                           CurrentStore currentStore) {
+        this.productRepository = productRepository;
+        this.ticketRepository = ticketRepository;
+        this.saleRepository = saleRepository;
+        this.customerRepository = customerRepository;
+        this.salespersonRepository = salespersonRepository;
+        this.dailyProductSalesRepository = dailyProductSalesRepository;
+        this.dailySalespersonSalesRepository = dailySalespersonSalesRepository;
+        this.catalogCache = catalogCache;
+        this.promotionService = promotionService;
+        this.storeStockRepository = storeStockRepository;
+        this.storeLocationRepository = storeLocationRepository;
+        this.currentStore = currentStore;
+    }
+
+    // Immediate checkout at current catalog prices and promotions, used where no register journal is involved
+    @Transactional
+    public Ticket checkout(Long customerId, Long salespersonId, Map<Long, Integer> quantitiesByProductId) {
+        if (quantitiesByProductId.isEmpty()) {
+            throw new IllegalArgumentException("Ticket has no items");
+        }
+
+        Map<Long, Product> products = loadProducts(quantitiesByProductId.keySet());
+        PromotionEngine promotions = promotionService.engine();
+        List<CheckoutLine> lines = new ArrayList<>(quantitiesByProductId.size());
+        for (Map.Entry<Long, Integer> entry : quantitiesByProductId.entrySet()) {
+            Product product = products.get(entry.getKey());
+            if (product == null) {
+                throw new IllegalArgumentException("Product not found for ID: " + entry.getKey());
+            }
+            long unitCents = product.getPrice().cents();
+            lines.add(new CheckoutLine(entry.getKey(), entry.getValue(), unitCents,
+                promotions.lineDiscount(entry.getKey(), unitCents, entry.getValue())));
+        }
+        return apply(CheckoutRequest.create(customerId, salespersonId, lines), products);
+    }
+
+    // Decrements stock and persists the ticket with its items and per-line sales in a single transaction,
+    // adding the ticket to the daily product and salesperson rollups in the same commit.
+    // Each decrement is a conditional UPDATE of this store's stock row, so concurrent registers never overwrite each other's stock
+    // and an oversell rolls the whole ticket back. Item inserts are flushed as a JDBC batch at commit.
+    // Idempotent on the request's checkoutId: a request that was already applied returns its ticket.
+    @Transactional
+    public Ticket checkout(CheckoutRequest request) {
+        Optional<Ticket> existing = ticketRepository.findByCheckoutId(request.checkoutId().toString());
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        Set<Long> productIds = request.lines().stream().map(CheckoutLine::productId).collect(Collectors.toSet());
+        return apply(request, loadProducts(productIds));
+    }
+
+    private Ticket apply(CheckoutRequest request, Map<Long, Product> products) {
+        Salesperson salesperson = salespersonRepository.getReferenceById(request.salespersonId());
+        Ticket ticket = new Ticket();
+        ticket.setCheckoutId(request.checkoutId().toString());
+        ticket.setDate(request.createdAt());
+        ticket.setCustomer(customerRepository.getReferenceById(request.customerId()));
+        ticket.setSalesperson(salesperson);
+        Long storeId = currentStore.id();
+        ticket.setStore(storeLocationRepository.getReferenceById(storeId));
+
+        List<CheckoutLine> lines = new ArrayList<>(request.lines());
+        // Decrement in productId order so concurrent checkouts take row locks in the same order
+        lines.sort(Comparator.comparing(CheckoutLine::productId));
+
+        List<Sale> sales = new ArrayList<>(lines.size());
+        // Totals are summed in long cents: exact, and no boxing per line
+        long totalCents = 0;
+        for (CheckoutLine line : lines) {
+            Product product = products.get(line.productId());
+            if (product == null) {
+                throw new IllegalArgumentException("Product not found for ID: " + line.productId());
+            }
+
+            int quantitySold = line.quantity();
+            if (storeStockRepository.decrementStock(storeId, product.getProductId(), quantitySold) == 0) {
+                throw new InsufficientStockException(product.getProductId(), product.getName());
+            }
+
+            long lineTotalCents = line.lineTotalCents();
+            TicketItem ticketItem = new TicketItem(product, quantitySold, Money.ofCents(lineTotalCents), ticket);
+            ticketItem.setDiscount(Money.ofCents(line.discountCents()));
+            ticket.addItem(ticketItem);
+            totalCents = Money.plus(totalCents, lineTotalCents);
+
+            Sale sale = new Sale();
+            sale.setProductId(product.getProductId());
+            sale.setQuantitySold(quantitySold);
+            sale.setTotalPrice(ticketItem.getPrice());
+            sale.setSalesPerson(salesperson.getName());
+            sales.add(sale);
+        }
+        ticket.setTotalPrice(Money.ofCents(totalCents));
+
+        catalogCache.evictAfterCommit(products.keySet());
+        Ticket saved = ticketRepository.save(ticket);
+        saleRepository.saveAll(sales);
+        updateRollups(saved, request.salespersonId(), sales);
+        return saved;
+    }
+
+    // One select for every product on the ticket instead of one per line
+    private Map<Long, Product> loadProducts(Collection<Long> productIds) {
+        return productRepository.findAllById(productIds).stream()
+            .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+    }
+
+    private void updateRollups(Ticket ticket, Long salespersonId, List<Sale> sales) {
+        LocalDate salesDate = ticket.getDate().toLocalDate();
+        long quantitySold = 0;
+        for (Sale sale : sales) {
+            dailyProductSalesRepository.addSale(salesDate, sale.getProductId(), sale.getQuantitySold(), sale.getTotalPrice().cents());
+            quantitySold += sale.getQuantitySold();
+        }
+        dailySalespersonSalesRepository.addTicket(salesDate, salespersonId, quantitySold, ticket.getTotalPrice().cents());
+    }
+}
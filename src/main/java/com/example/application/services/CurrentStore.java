@@ -0,0 +1,59 @@
+package com.example.application.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import com.example.application.helpers.StoreLocation;
+import com.example.application.helpers.repos.StoreLocationRepository;
+
+// The store this POS instance sells from (pos.store.code). Catalog stock, checkouts and reservations are all
+// scoped to it; other stores are only read through StoreAvailabilityIndex.
+@Component
+public class CurrentStore {
+    private final StoreLocationRepository storeLocationRepository;
+    private final String code;
+    private final String name;
+
+    // Resolved on first use rather than at startup, so the schema is in place
+    private volatile StoreLocation store;
+
+    public CurrentStore(StoreLocationRepository storeLocationRepository,
+                        @Value("${pos.store.code:MAIN}") String code,
+                        @Value("${pos.store.name:Main store}") String name) {
+        this.storeLocationRepository = storeLocationRepository;
+        this.code = code;
+        this.name = name;
+    }
+
+    public Long id() {
+        return store().getId();
+    }
+
+    public String code() {
+        return code;
+    }
+
+    public String name() {
+        return store().getName();
+    }
+
+    private StoreLocation store() {
+        StoreLocation current = store;
+        if (current == null) {
+            // A store's first instance registers it
+            current = storeLocationRepository.findByCode(code).orElseGet(() -> {
+                StoreLocation created = new StoreLocation();
+                created.setCode(code);
+                created.setName(name);
+                try {
+                    return storeLocationRepository.save(created);
+                } catch (DataIntegrityViolationException e) {
+                    return storeLocationRepository.findByCode(code).orElseThrow(() -> e); // Registered concurrently
+                }
+            });
+            store = current;
+        }
+        return current;
+    }
+}
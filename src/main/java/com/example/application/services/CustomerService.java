@@ -0,0 +1,105 @@
+package com.example.application.services;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.application.helpers.Customer;
+import com.example.application.helpers.OffsetPageable;
+import com.example.application.helpers.repos.CustomerRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Timer;
+
+@Service
+public class CustomerService {
+    private static final Pattern PHONE = Pattern.compile("[+0-9][0-9 ()-]{5,}");
+
+    private final CustomerRepository customerRepository;
+    private final PosMetrics metrics;
+    // Typeahead pages shared by every register. The combo box fetches under the session lock, so a repeated
+    // keystroke or page is answered from here; a customer created on this instance shows up immediately, one
+    // edited elsewhere within pos.customer.search-ttl.
+    private final Cache<SearchKey, List<Customer>> searches;
+
+    private record SearchKey(String term, int offset, int limit) {
+    }
+
+    public CustomerService(CustomerRepository customerRepository, PosMetrics metrics,
+                           @Value("${pos.customer.search-cache-size:10000}") long searchCacheSize,
+                           @Value("${pos.customer.search-ttl:PT30S}") Duration searchTtl) {
+        this.customerRepository = customerRepository;
+        this.metrics = metrics;
+        this.searches = Caffeine.newBuilder()
+            .maximumSize(searchCacheSize)
+            .expireAfterWrite(searchTtl)
+            .build();
+    }
+
+    // Typeahead lookup: an email or phone number matches exactly, anything else is a name prefix.
+    // At most limit rows are returned per call, starting at offset.
+    public List<Customer> search(String filter, int offset, int limit) {
+        String term = filter == null ? "" : filter.trim();
+        SearchKey key = new SearchKey(term, offset, limit);
+        List<Customer> cached = searches.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        String by = term.contains("@") ? "email" : PHONE.matcher(term).matches() ? "phone" : "name";
+        Timer.Sample sample = metrics.start();
+        String outcome = "error";
+        try {
+            List<Customer> result = switch (by) {
+                case "email" -> offset == 0 ? toList(customerRepository.findFirstByEmail(term)) : List.of();
+                case "phone" -> offset == 0 ? toList(customerRepository.findFirstByPhone(term)) : List.of();
+                default -> customerRepository.findByNameKeyStartingWith(Customer.normalizeName(term),
+                    new OffsetPageable(offset, limit, Sort.by("nameKey")));
+            };
+            outcome = "success";
+            searches.put(key, result);
+            return result;
+        } finally {
+            metrics.stop(sample, "pos.customer.lookup", "by", by, "outcome", outcome);
+        }
+    }
+
+    public Optional<Customer> findById(Long customerId) {
+        return customerRepository.findById(customerId);
+    }
+
+    @Transactional
+    public Customer findOrCreate(String name) {
+        return customerRepository.findFirstByNameKey(Customer.normalizeName(name)).orElseGet(() -> {
+            Customer customer = new Customer();
+            customer.setId(generateCustomerId()); // Assign a new unique ID
+            customer.setName(name.trim());
+            Customer saved = customerRepository.save(customer);
+            // Cached pages around the new name are now short by one; dropped once the row is visible
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    searches.invalidateAll();
+                }
+            });
+            return saved;
+        });
+    }
+
+    private static List<Customer> toList(Optional<Customer> customer) {
+        return customer.map(List::of).orElse(List.of());
+    }
+
+    private static Long generateCustomerId() {
+        return UUID.randomUUID().getMostSignificantBits();
+    }
+}
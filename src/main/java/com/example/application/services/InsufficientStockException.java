@@ -0,0 +1,14 @@
+package com.example.application.services;
+
+public class InsufficientStockException extends RuntimeException {
+    private final Long productId;
+
+    public InsufficientStockException(Long productId, String productName) {
+        super("Not enough stock for product: " + productName);
+        this.productId = productId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.application.services;
+
+import java.util.Collection;
+import java.util.Set;
+
+// productIds whose rows changed in place; structural changes (adds, deletes) need a full refresh
+public record InventoryChange(Set<Long> productIds, boolean structural) {
+
+    public static InventoryChange updated(Collection<Long> productIds) {
+        return new InventoryChange(Set.copyOf(productIds), false);
+    }
+
+    public static InventoryChange structuralChange() {
+        return new InventoryChange(Set.of(), true);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.application.services;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+
+import com.vaadin.flow.shared.Registration;
+
+// Fans inventory changes out to every open view. Listeners run on the publishing thread,
+// so views hand the work to UI.access and let push deliver it.
+@Component
+public class InventoryChangeBroadcaster {
+    private final List<Consumer<InventoryChange>> listeners = new CopyOnWriteArrayList<>();
+
+    public Registration register(Consumer<InventoryChange> listener) {
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+    public void publish(InventoryChange change) {
+        for (Consumer<InventoryChange> listener : listeners) {
+            listener.accept(change);
+        }
+    }
+}
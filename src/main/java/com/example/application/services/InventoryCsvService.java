@@ -0,0 +1,247 @@
+package com.example.application.services;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.application.helpers.Money;
+import com.example.application.helpers.Product;
+import com.example.application.helpers.ProductRecord;
+import com.example.application.helpers.repos.ProductRepository;
+import com.example.application.helpers.repos.StoreStockRepository;
+
+import jakarta.persistence.EntityManager;
+
+// Bulk inventory load and dump. Both directions stream row by row, so memory stays bounded by
+// BATCH_SIZE regardless of catalog size. CSV columns: sku,name,description,price,quantityInStock, where the
+// quantity is this store's stock
+@Service
+public class InventoryCsvService {
+    private static final int BATCH_SIZE = 500;
+    private static final String HEADER = "sku,name,description,price,quantityInStock";
+
+    // Keyed on the unique sku column; rows without a SKU fall back to name/price matching
+    private static final String UPSERT_BY_SKU =
+        "INSERT INTO product (sku, name, description, price_cents) VALUES (?, ?, ?, ?) "
+      + "ON DUPLICATE KEY UPDATE name = VALUES(name), description = VALUES(description), price_cents = VALUES(price_cents)";
+    // Runs after UPSERT_BY_SKU in the same batch, so the product row exists whether it was inserted or updated
+    private static final String UPSERT_STOCK_BY_SKU =
+        "INSERT INTO store_stock (store_id, product_id, quantity_in_stock) SELECT ?, product_id, ? FROM product WHERE sku = ? "
+      + "ON DUPLICATE KEY UPDATE quantity_in_stock = VALUES(quantity_in_stock)";
+
+    private final ProductRepository productRepository;
+    private final ProductCatalogCache catalogCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final AsyncTaskExecutor taskExecutor;
+    private final StoreStockRepository storeStockRepository;
+    private final CurrentStore currentStore;
+
+    public InventoryCsvService(ProductRepository productRepository, ProductCatalogCache catalogCache,
+                               JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               EntityManager entityManager,
+                               @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor,
+                               StoreStockRepository storeStockRepository, CurrentStore currentStore) {
+        this.productRepository = productRepository;
+        this.catalogCache = catalogCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.taskExecutor = taskExecutor;
+        this.storeStockRepository = storeStockRepository;
+        this.currentStore = currentStore;
+    }
+
+    // ambiguousLines: rows without a SKU whose name and price match more than one product, left unapplied
+    public record ImportResult(int imported, int skipped, List<Integer> ambiguousLines) {
+    }
+
+    private record CsvRow(int lineNumber, Product product, int quantityInStock) {
+    }
+
+    // Runs on the background executor; progress reports the number of rows processed so far
+    public CompletableFuture<ImportResult> importCsvAsync(InputStream in, IntConsumer progress) {
+        return CompletableFuture.supplyAsync(() -> importCsv(in, progress), taskExecutor);
+    }
+
+    public ImportResult importCsv(InputStream in, IntConsumer progress) {
+        int imported = 0;
+        int skipped = 0;
+        List<Integer> ambiguousLines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            List<CsvRow> batch = new ArrayList<>(BATCH_SIZE);
+            String line = reader.readLine(); // Header
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                CsvRow row = parseRow(lineNumber, line);
+                if (row == null) {
+                    skipped++;
+                    continue;
+                }
+                batch.add(row);
+                if (batch.size() == BATCH_SIZE) {
+                    imported += writeBatch(batch, ambiguousLines);
+                    batch.clear();
+                    progress.accept(imported);
+                }
+            }
+            if (!batch.isEmpty()) {
+                imported += writeBatch(batch, ambiguousLines);
+                progress.accept(imported);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read inventory CSV", e);
+        } finally {
+            catalogCache.invalidateAll();
+        }
+        return new ImportResult(imported, skipped, ambiguousLines);
+    }
+
+    // Returns the number of rows written; rows that match several products are added to ambiguousLines instead
+    private int writeBatch(List<CsvRow> batch, List<Integer> ambiguousLines) {
+        Long storeId = currentStore.id();
+        return transactionTemplate.execute(status -> {
+            List<Object[]> withSku = new ArrayList<>(batch.size());
+            List<Object[]> stockBySku = new ArrayList<>(batch.size());
+            List<CsvRow> withoutSku = new ArrayList<>();
+            for (CsvRow row : batch) {
+                Product product = row.product();
+                if (product.getSku() != null) {
+                    withSku.add(new Object[] { product.getSku(), product.getName(), product.getDescription(), product.getPrice().cents() });
+                    stockBySku.add(new Object[] { storeId, row.quantityInStock(), product.getSku() });
+                } else {
+                    List<Product> matches = productRepository.findByNameAndPrice(product.getName(), product.getPrice());
+                    if (matches.size() > 1) {
+                        ambiguousLines.add(row.lineNumber()); // No telling which product the row means
+                        continue;
+                    }
+                    withoutSku.add(new CsvRow(row.lineNumber(), matches.isEmpty() ? product : withDescription(matches.get(0), product),
+                        row.quantityInStock()));
+                }
+            }
+            if (!withSku.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPSERT_BY_SKU, withSku);
+                jdbcTemplate.batchUpdate(UPSERT_STOCK_BY_SKU, stockBySku);
+            }
+            for (CsvRow row : withoutSku) {
+                Product saved = productRepository.save(row.product());
+                storeStockRepository.setStock(storeId, saved.getProductId(), row.quantityInStock());
+            }
+            entityManager.flush();
+            entityManager.clear(); // Keep the persistence context from growing across batches
+            return withSku.size() + withoutSku.size();
+        });
+    }
+
+    private static Product withDescription(Product existing, Product row) {
+        existing.setDescription(row.getDescription());
+        return existing;
+    }
+
+    private static CsvRow parseRow(int lineNumber, String line) {
+        List<String> fields = parseFields(line);
+        if (fields.size() < 5 || fields.get(1).isBlank()) {
+            return null;
+        }
+        try {
+            Product product = new Product();
+            product.setSku(SkuIndex.normalize(fields.get(0)));
+            product.setName(fields.get(1).trim());
+            product.setDescription(fields.get(2));
+            product.setPrice(Money.parse(fields.get(3)));
+            return new CsvRow(lineNumber, product, Integer.parseInt(fields.get(4).trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Minimal RFC 4180 field splitting for a single physical line (quoted commas and "" escapes)
+    private static List<String> parseFields(String line) {
+        List<String> fields = new ArrayList<>(5);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @Transactional(readOnly = true)
+    public void exportCsv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(HEADER);
+        writer.write('\n');
+        try (Stream<Product> products = productRepository.streamAllBy()) {
+            for (Product product : (Iterable<Product>) products::iterator) {
+                writeField(writer, product.getSku());
+                writer.write(',');
+                writeField(writer, product.getName());
+                writer.write(',');
+                writeField(writer, product.getDescription());
+                writer.write(',');
+                writer.write(product.getPrice() == null ? "" : product.getPrice().toString());
+                writer.write(',');
+                writer.write(Integer.toString(catalogCache.get(product.getProductId()).map(ProductRecord::quantityInStock).orElse(0)));
+                writer.write('\n');
+                entityManager.detach(product); // Rows are written once; don't keep them managed
+            }
+        }
+        writer.flush();
+    }
+
+    private static void writeField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\"").replace('\n', ' '));
+        writer.write('"');
+    }
+}
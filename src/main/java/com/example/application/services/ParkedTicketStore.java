@@ -0,0 +1,59 @@
+package com.example.application.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Tickets a cashier set aside to serve someone else, shared by every register of this instance. Lines are
+// kept in CartLines' varint encoding rather than as live objects, and the store is a bounded Caffeine cache:
+// it evicts past pos.parked.max-tickets, and forgotten tickets expire after pos.parked.ttl. Parked tickets hold
+// no stock; lines are reserved again on resume.
+@Component
+public class ParkedTicketStore {
+    private final Cache<UUID, ParkedTicket> parked;
+
+    public record ParkedTicket(UUID ticketId, String label, Long customerId, LocalDateTime parkedAt, byte[] lines) {
+        public CartLines cartLines() {
+            return CartLines.fromBytes(lines);
+        }
+    }
+
+    public ParkedTicketStore(MeterRegistry registry,
+                             @Value("${pos.parked.max-tickets:10000}") long maxTickets,
+                             @Value("${pos.parked.ttl:PT12H}") Duration ttl) {
+        this.parked = Caffeine.newBuilder()
+            .maximumSize(maxTickets)
+            .expireAfterWrite(ttl)
+            .build();
+        registry.gauge("pos.parked.tickets", parked, Cache::estimatedSize);
+    }
+
+    public ParkedTicket park(UUID ticketId, String label, Long customerId, CartLines lines) {
+        ParkedTicket ticket = new ParkedTicket(ticketId, label, customerId, LocalDateTime.now(), lines.toBytes());
+        parked.put(ticketId, ticket);
+        return ticket;
+    }
+
+    // Oldest first, as a queue of waiting customers would be served
+    public List<ParkedTicket> list() {
+        return parked.asMap().values().stream()
+            .sorted(Comparator.comparing(ParkedTicket::parkedAt))
+            .toList();
+    }
+
+    // Removes the ticket as it is returned, so two registers can't resume the same one
+    public Optional<ParkedTicket> take(UUID ticketId) {
+        return Optional.ofNullable(parked.asMap().remove(ticketId));
+    }
+}
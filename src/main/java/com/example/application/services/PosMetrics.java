@@ -0,0 +1,87 @@
+package com.example.application.services;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Meters for the POS operations, exported through the Actuator Prometheus endpoint.
+// All timers share the "pos" prefix so percentile histograms can be enabled for them in one property.
+@Component
+public class PosMetrics {
+    private final MeterRegistry registry;
+    private final Counter stockConflicts;
+    private final DistributionSummary checkoutLines;
+    private final AtomicInteger activeSessions = new AtomicInteger();
+
+    public PosMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.stockConflicts = Counter.builder("pos.checkout.stock.conflicts")
+            .description("Checkouts rejected because another register sold the stock first")
+            .register(registry);
+        this.checkoutLines = DistributionSummary.builder("pos.checkout.lines")
+            .description("Lines per completed ticket")
+            .register(registry);
+        registry.gauge("pos.ui.sessions.active", activeSessions);
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    public void stop(Timer.Sample sample, String timerName, String... tags) {
+        sample.stop(registry.timer(timerName, tags));
+    }
+
+    // Checkout latency tagged by ticket size and outcome; stock conflicts are also counted separately
+    public <T> T recordCheckout(int lines, Supplier<T> checkout) {
+        Timer.Sample sample = start();
+        String outcome = "success";
+        try {
+            T result = checkout.get();
+            checkoutLines.record(lines);
+            return result;
+        } catch (InsufficientStockException e) {
+            outcome = "stock_conflict";
+            stockConflicts.increment();
+            throw e;
+        } catch (RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            stop(sample, "pos.checkout", "lines", lineBucket(lines), "outcome", outcome);
+        }
+    }
+
+    // Oversells found when a journaled checkout is applied after it was acknowledged
+    public void stockConflict() {
+        stockConflicts.increment();
+    }
+
+    public void sessionStarted() {
+        activeSessions.incrementAndGet();
+    }
+
+    public void sessionEnded() {
+        activeSessions.decrementAndGet();
+    }
+
+    // Bucketed to keep tag cardinality bounded
+    private static String lineBucket(int lines) {
+        if (lines <= 1) {
+            return "1";
+        } else if (lines <= 5) {
+            return "2-5";
+        } else if (lines <= 10) {
+            return "6-10";
+        } else if (lines <= 25) {
+            return "11-25";
+        }
+        return "26+";
+    }
+}
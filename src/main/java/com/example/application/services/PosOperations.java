@@ -0,0 +1,124 @@
+package com.example.application.services;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.example.application.helpers.Customer;
+import com.example.application.helpers.DailyRevenue;
+import com.example.application.helpers.DailySalespersonSales;
+import com.example.application.helpers.Product;
+import com.example.application.helpers.ProductRecord;
+import com.example.application.helpers.Salesperson;
+import com.example.application.helpers.repos.DailySalespersonSalesRepository;
+import com.example.application.helpers.repos.SalespersonRepository;
+
+// Blocking POS operations for the UI. Each call runs on the application task executor, which uses
+// virtual threads (spring.threads.virtual.enabled), so a slow query neither holds the Vaadin session
+// lock nor pins a platform thread. Views apply results with UI.access and push.
+@Service
+public class PosOperations {
+    private final AsyncTaskExecutor taskExecutor;
+    private final CheckoutJournal checkoutJournal;
+    private final CustomerService customerService;
+    private final ProductCatalogCache catalogCache;
+    private final SalespersonRepository salespersonRepository;
+    private final DailySalespersonSalesRepository dailySalespersonSalesRepository;
+    private final PosMetrics metrics;
+    private final StockReservationService reservations;
+
+    public PosOperations(@Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor,
+                         CheckoutJournal checkoutJournal, CustomerService customerService,
+                         ProductCatalogCache catalogCache, SalespersonRepository salespersonRepository,
+                         DailySalespersonSalesRepository dailySalespersonSalesRepository,
+                         PosMetrics metrics, StockReservationService reservations) {
+        this.taskExecutor = taskExecutor;
+        this.checkoutJournal = checkoutJournal;
+        this.customerService = customerService;
+        this.catalogCache = catalogCache;
+        this.salespersonRepository = salespersonRepository;
+        this.dailySalespersonSalesRepository = dailySalespersonSalesRepository;
+        this.metrics = metrics;
+        this.reservations = reservations;
+    }
+
+    // Completes once the checkout is durably journaled; the drainer writes the ticket afterwards. The ticket's
+    // stock holds (keyed by its checkoutId) become the decrement: they stop expiring and are settled by the drainer
+    public CompletableFuture<CheckoutRequest> checkout(CheckoutRequest request) {
+        return supply(() -> metrics.recordCheckout(request.lines().size(), () -> {
+            holdStock(request);
+            try {
+                return checkoutJournal.append(request);
+            } catch (RuntimeException e) {
+                reservations.settle(request.checkoutId()); // Never journaled, so the drainer won't settle it
+                throw e;
+            }
+        }));
+    }
+
+    public CompletableFuture<Customer> findOrCreateCustomer(String name) {
+        return supply(() -> customerService.findOrCreate(name));
+    }
+
+    public CompletableFuture<Optional<Customer>> findCustomer(Long customerId) {
+        return supply(() -> customerService.findById(customerId));
+    }
+
+    public CompletableFuture<List<Salesperson>> findSalespeople() {
+        return supply(salespersonRepository::findAllByOrderByNameAsc);
+    }
+
+    public CompletableFuture<List<DailyRevenue>> findDailyRevenue(LocalDate from, LocalDate to) {
+        return supply(() -> dailySalespersonSalesRepository.findDailyRevenue(from, to));
+    }
+
+    public CompletableFuture<List<DailySalespersonSales>> findDailySalespersonSales(LocalDate from, LocalDate to) {
+        return supply(() -> dailySalespersonSalesRepository.findBetween(from, to));
+    }
+
+    public CompletableFuture<Product> saveProduct(Product product, int quantityInStock) {
+        return supply(() -> catalogCache.save(product, quantityInStock));
+    }
+
+    public CompletableFuture<Product> updateProduct(Long productId, Consumer<Product> edit, int quantityInStock) {
+        return supply(() -> catalogCache.update(productId, edit, quantityInStock));
+    }
+
+    public CompletableFuture<Void> deleteProduct(Long productId) {
+        return CompletableFuture.runAsync(() -> {
+            // The drainer would reject a journaled checkout whose product is gone
+            if (reservations.held(productId) > 0) {
+                throw new IllegalStateException("Product is on an open ticket and can't be deleted");
+            }
+            catalogCache.delete(productId);
+        }, taskExecutor);
+    }
+
+    // The ticket's holds normally cover it already. If they expired while the ticket sat open, its lines are
+    // claimed again, and the sale is refused before journaling when one no longer fits the stock.
+    private void holdStock(CheckoutRequest request) {
+        if (reservations.commit(request)) {
+            return;
+        }
+        request.quantitiesByProductId().forEach((productId, quantity) -> {
+            if (!reservations.reserve(request.checkoutId(), productId, quantity)) {
+                String name = catalogCache.get(productId).map(ProductRecord::name).orElse(String.valueOf(productId));
+                throw new InsufficientStockException(productId, name);
+            }
+        });
+        if (!reservations.commit(request)) {
+            throw new IllegalStateException("Stock hold for checkout " + request.checkoutId() + " was released while committing");
+        }
+    }
+
+    private <T> CompletableFuture<T> supply(Supplier<T> operation) {
+        return CompletableFuture.supplyAsync(operation, taskExecutor);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.application.services;
+
+import java.util.Arrays;
+
+import com.example.application.helpers.Money;
+
+// Running prices for an open ticket. Promotion rules are line-scoped, so adding or changing a line re-prices
+// only that line and moves the totals by the difference; the whole ticket is re-evaluated only when the
+// compiled promotions themselves change.
+public final class PricedTicket {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private PromotionEngine engine;
+    private long[] productIds = new long[INITIAL_CAPACITY];
+    private long[] unitCents = new long[INITIAL_CAPACITY];
+    private int[] quantities = new int[INITIAL_CAPACITY];
+    private long[] discountCents = new long[INITIAL_CAPACITY];
+    private int size;
+    private long subtotalCents;
+    private long discountTotalCents;
+
+    public PricedTicket(PromotionEngine engine) {
+        this.engine = engine;
+    }
+
+    // Prices the line at the given unit price and quantity, adding it if needed; zero removes it
+    public void setLine(long productId, long unitPriceCents, int quantity) {
+        int index = indexOf(productId);
+        if (index >= 0) {
+            subtotalCents -= Money.times(unitCents[index], quantities[index]);
+            discountTotalCents -= discountCents[index];
+            if (quantity <= 0) {
+                removeAt(index);
+                return;
+            }
+        } else if (quantity <= 0) {
+            return;
+        } else {
+            if (size == productIds.length) {
+                grow();
+            }
+            index = size++;
+            productIds[index] = productId;
+        }
+        unitCents[index] = unitPriceCents;
+        quantities[index] = quantity;
+        discountCents[index] = engine.lineDiscount(productId, unitPriceCents, quantity);
+        subtotalCents += Money.times(unitPriceCents, quantity);
+        discountTotalCents += discountCents[index];
+    }
+
+    // Re-prices every line when the promotions were recompiled since this ticket was priced
+    public void reprice(PromotionEngine current) {
+        if (current == engine) {
+            return;
+        }
+        engine = current;
+        discountTotalCents = 0;
+        for (int i = 0; i < size; i++) {
+            discountCents[i] = engine.lineDiscount(productIds[i], unitCents[i], quantities[i]);
+            discountTotalCents += discountCents[i];
+        }
+    }
+
+    public long discountCents(long productId) {
+        int index = indexOf(productId);
+        return index < 0 ? 0 : discountCents[index];
+    }
+
+    public long lineTotalCents(long productId) {
+        int index = indexOf(productId);
+        return index < 0 ? 0 : Money.times(unitCents[index], quantities[index]) - discountCents[index];
+    }
+
+    public long subtotalCents() {
+        return subtotalCents;
+    }
+
+    public long discountTotalCents() {
+        return discountTotalCents;
+    }
+
+    public long totalCents() {
+        return subtotalCents - discountTotalCents;
+    }
+
+    public void clear() {
+        size = 0;
+        subtotalCents = 0;
+        discountTotalCents = 0;
+        if (productIds.length > INITIAL_CAPACITY) {
+            productIds = new long[INITIAL_CAPACITY];
+            unitCents = new long[INITIAL_CAPACITY];
+            quantities = new int[INITIAL_CAPACITY];
+            discountCents = new long[INITIAL_CAPACITY];
+        }
+    }
+
+    private int indexOf(long productId) {
+        for (int i = 0; i < size; i++) {
+            if (productIds[i] == productId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void grow() {
+        productIds = Arrays.copyOf(productIds, size * 2);
+        unitCents = Arrays.copyOf(unitCents, size * 2);
+        quantities = Arrays.copyOf(quantities, size * 2);
+        discountCents = Arrays.copyOf(discountCents, size * 2);
+    }
+
+    private void removeAt(int index) {
+        int tail = size - index - 1;
+        System.arraycopy(productIds, index + 1, productIds, index, tail);
+        System.arraycopy(unitCents, index + 1, unitCents, index, tail);
+        System.arraycopy(quantities, index + 1, quantities, index, tail);
+        System.arraycopy(discountCents, index + 1, discountCents, index, tail);
+        size--;
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.application.services;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.application.helpers.Product;
+import com.example.application.helpers.ProductRecord;
+import com.example.application.helpers.repos.ProductRepository;
+import com.example.application.helpers.repos.StoreStockRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Catalog reads shared by every session. The whole catalog is held as one immutable CatalogSnapshot of
+// ProductRecords, swapped atomically when products change, so opening more terminals adds neither database
+// reads nor per-session copies of the product list. Stock in the snapshot is this store's (CurrentStore).
+// Inventory writes go through here to refresh the snapshot and broadcast the change to open views. Products are
+// shared by every instance, so the whole catalog is also reread on an interval to pick up edits made elsewhere.
+@Component
+public class ProductCatalogCache {
+    private static final Logger log = LoggerFactory.getLogger(ProductCatalogCache.class);
+
+    private final ProductRepository productRepository;
+    private final InventoryChangeBroadcaster broadcaster;
+    private final SkuIndex skuIndex;
+    private final EntityManagerFactory entityManagerFactory;
+    private final StoreStockRepository storeStockRepository;
+    private final CurrentStore currentStore;
+
+    // Loaded on first use rather than at startup, so the schema and any seed data are in place
+    private final AtomicReference<CatalogSnapshot> snapshot = new AtomicReference<>();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    // Transaction resource key for the product ids whose reload waits for the current transaction to commit
+    private final Object pendingEvictionsKey = new Object();
+
+    public ProductCatalogCache(ProductRepository productRepository, InventoryChangeBroadcaster broadcaster,
+                               SkuIndex skuIndex, EntityManagerFactory entityManagerFactory,
+                               StoreStockRepository storeStockRepository, CurrentStore currentStore) {
+        this.productRepository = productRepository;
+        this.broadcaster = broadcaster;
+        this.skuIndex = skuIndex;
+        this.entityManagerFactory = entityManagerFactory;
+        this.storeStockRepository = storeStockRepository;
+        this.currentStore = currentStore;
+    }
+
+    public CatalogSnapshot snapshot() {
+        CatalogSnapshot current = snapshot.get();
+        if (current != null) {
+            return current;
+        }
+        // Loaded under the reload lock: a checkout committing meanwhile reloads its rows once this is installed,
+        // rather than finding no snapshot to update and leaving the pre-checkout stock in place
+        reloadLock.lock();
+        try {
+            current = snapshot.get();
+            if (current == null) {
+                current = CatalogSnapshot.of(productRepository.findAllRecords(currentStore.id()));
+                snapshot.set(current);
+            }
+            return current;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    public Optional<ProductRecord> get(Long productId) {
+        return Optional.ofNullable(snapshot().get(productId));
+    }
+
+    // Saves the product and sets its stock at this store in one transaction; the snapshot, scan index and open
+    // views only see the change once it has committed
+    @Transactional
+    public Product save(Product product, int quantityInStock) {
+        boolean isNew = product.getProductId() == null;
+        product.setSku(SkuIndex.normalize(product.getSku()));
+        Product saved = productRepository.save(product);
+        storeStockRepository.setStock(currentStore.id(), saved.getProductId(), quantityInStock);
+        afterCommit(() -> {
+            skuIndex.update(saved);
+            // Read back rather than applied from the arguments, which a checkout may already have superseded
+            reload(List.of(saved.getProductId()));
+            broadcaster.publish(isNew ? InventoryChange.structuralChange() : InventoryChange.updated(List.of(saved.getProductId())));
+        });
+        return saved;
+    }
+
+    // Edits the current entity rather than one rebuilt from a grid row, so unlisted columns are kept
+    @Transactional
+    public Product update(Long productId, Consumer<Product> edit, int quantityInStock) {
+        Product product = productRepository.findById(productId)
+            .orElseThrow(() -> new IllegalArgumentException("Product not found for ID: " + productId));
+        edit.accept(product);
+        return save(product, quantityInStock);
+    }
+
+    // Removes the product and its stock at every store; refused once the product has been sold
+    @Transactional
+    public void delete(Long productId) {
+        if (productRepository.isOnAnyTicket(productId)) {
+            throw new IllegalStateException("Product has been sold and can't be deleted; set its stock to 0 instead");
+        }
+        storeStockRepository.deleteByProductId(productId);
+        productRepository.deleteById(productId);
+        afterCommit(() -> {
+            skuIndex.remove(productId);
+            reload(List.of(productId));
+            broadcaster.publish(InventoryChange.structuralChange());
+        });
+    }
+
+    // Stock changed outside the cache (checkout); only the affected rows are reloaded. A transaction that applies
+    // many checkouts (a journal drain batch) reloads and broadcasts once, for the union of their products.
+    public void evictAfterCommit(Collection<Long> productIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(productIds);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(pendingEvictionsKey);
+        if (pending == null) {
+            Set<Long> batch = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(pendingEvictionsKey, batch);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(pendingEvictionsKey);
+                    if (status == STATUS_COMMITTED) {
+                        evict(batch);
+                    }
+                }
+            });
+            pending = batch;
+        }
+        pending.addAll(productIds);
+    }
+
+    public void evict(Collection<Long> productIds) {
+        reload(productIds);
+        broadcaster.publish(InventoryChange.updated(productIds));
+    }
+
+    // Bulk changes (CSV import) that bypassed the cache
+    public void invalidateAll() {
+        entityManagerFactory.getCache().evict(Product.class); // JDBC upserts bypass Hibernate's second-level cache
+        skuIndex.reload();
+        reloadLock.lock();
+        try {
+            snapshot.set(null);
+        } finally {
+            reloadLock.unlock();
+        }
+        broadcaster.publish(InventoryChange.structuralChange());
+    }
+
+    // Edits from other instances (and stock sold by other instances of this store) reach this one here. Only
+    // rows that differ are evicted from the second-level cache and broadcast.
+    @Scheduled(fixedDelayString = "${pos.catalog.refresh-ms:60000}", initialDelayString = "${pos.catalog.refresh-ms:60000}")
+    public void refresh() {
+        try {
+            skuIndex.reload();
+            Set<Long> changed;
+            boolean structural;
+            reloadLock.lock();
+            try {
+                CatalogSnapshot current = snapshot.get();
+                if (current == null) {
+                    return; // Not loaded yet; first use reads the current rows
+                }
+                CatalogSnapshot loaded = CatalogSnapshot.of(productRepository.findAllRecords(currentStore.id()));
+                changed = loaded.changedSince(current);
+                if (changed.isEmpty()) {
+                    return;
+                }
+                structural = changed.stream().anyMatch(id -> current.get(id) == null || loaded.get(id) == null);
+                snapshot.set(loaded);
+            } finally {
+                reloadLock.unlock();
+            }
+            changed.forEach(productId -> entityManagerFactory.getCache().evict(Product.class, productId));
+            broadcaster.publish(structural ? InventoryChange.structuralChange() : InventoryChange.updated(changed));
+        } catch (RuntimeException e) {
+            // Keep serving the current snapshot; the next run retries
+            log.warn("Unable to refresh the product catalog", e);
+        }
+    }
+
+    // Rereads the rows as committed; ids with no row left are dropped. Every change to the snapshot is
+    // serialized on reloadLock, so a reload that read older stock can never be applied after one that read
+    // newer stock (a lock rather than synchronized, so a virtual thread waiting on the query doesn't pin its carrier)
+    private void reload(Collection<Long> productIds) {
+        productIds.forEach(productId -> entityManagerFactory.getCache().evict(Product.class, productId));
+        reloadLock.lock();
+        try {
+            if (snapshot.get() != null) {
+                List<ProductRecord> records = productRepository.findRecordsByIdIn(productIds, currentStore.id());
+                Set<Long> removed = new HashSet<>(productIds);
+                records.forEach(record -> removed.remove(record.productId()));
+                apply(records, removed);
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Reloading before commit would publish stock another transaction can't see yet
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // Callers hold reloadLock
+    private void apply(Collection<ProductRecord> changed, Set<Long> removed) {
+        CatalogSnapshot current = snapshot.get();
+        if (current != null) {
+            snapshot.set(current.withChanges(changed, removed));
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.application.services;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.application.helpers.Money;
+import com.example.application.helpers.Promotion;
+
+// Promotions compiled once into an immutable evaluator. Each product gets its applicable rules (its own plus the
+// store-wide ones) merged into a single array in evaluation order, so pricing a line is one array walk with
+// long-cents arithmetic: no queries, no matching, no allocation. Rules only look at their own line, which is
+// what lets PricedTicket re-price just the line that changed.
+public final class PromotionEngine {
+    private static final Logger log = LoggerFactory.getLogger(PromotionEngine.class);
+    private static final PromotionEngine EMPTY = new PromotionEngine(Map.of(), new LineRule[0], null);
+
+    // Discount for one line given its quantity, unit price and the amount earlier rules left; never negative
+    sealed interface LineRule permits PercentOff, AmountOff, BuyGet, BundlePrice {
+        long discount(long unitCents, int quantity, long remainingCents);
+
+        boolean exclusive();
+    }
+
+    record PercentOff(int basisPoints, int minQuantity, boolean exclusive) implements LineRule {
+        @Override
+        public long discount(long unitCents, int quantity, long remainingCents) {
+            return quantity < minQuantity ? 0 : Money.percentOf(remainingCents, basisPoints);
+        }
+    }
+
+    record AmountOff(long centsPerUnit, boolean exclusive) implements LineRule {
+        @Override
+        public long discount(long unitCents, int quantity, long remainingCents) {
+            return Money.times(centsPerUnit, quantity);
+        }
+    }
+
+    record BuyGet(int buy, int get, int basisPoints, boolean exclusive) implements LineRule {
+        @Override
+        public long discount(long unitCents, int quantity, long remainingCents) {
+            int discountedUnits = quantity / (buy + get) * get;
+            return Money.percentOf(Money.times(unitCents, discountedUnits), basisPoints);
+        }
+    }
+
+    record BundlePrice(int size, long bundleCents, boolean exclusive) implements LineRule {
+        @Override
+        public long discount(long unitCents, int quantity, long remainingCents) {
+            long saving = Money.times(unitCents, size) - bundleCents;
+            return saving <= 0 ? 0 : Money.times(saving, quantity / size);
+        }
+    }
+
+    private final Map<Long, LineRule[]> rulesByProduct;
+    private final LineRule[] storeWideRules;
+    // When a compiled promotion ends or a pending one starts; null when only an edit can change the result
+    private final LocalDateTime validUntil;
+
+    private PromotionEngine(Map<Long, LineRule[]> rulesByProduct, LineRule[] storeWideRules, LocalDateTime validUntil) {
+        this.rulesByProduct = rulesByProduct;
+        this.storeWideRules = storeWideRules;
+        this.validUntil = validUntil;
+    }
+
+    public static PromotionEngine empty() {
+        return EMPTY;
+    }
+
+    // Compiles the promotions running at the given time; later ones only bound how long the result stays valid
+    public static PromotionEngine compile(Collection<Promotion> promotions, LocalDateTime now) {
+        LocalDateTime validUntil = null;
+        List<Promotion> running = new ArrayList<>();
+        for (Promotion promotion : promotions) {
+            if (!promotion.isActive() || (promotion.getEndsAt() != null && !promotion.getEndsAt().isAfter(now))) {
+                continue;
+            }
+            if (promotion.getStartsAt() != null && promotion.getStartsAt().isAfter(now)) {
+                validUntil = earliest(validUntil, promotion.getStartsAt());
+                continue;
+            }
+            if (toRule(promotion) == null) {
+                log.warn("Skipping promotion {} ({}): incomplete {} settings", promotion.getId(), promotion.getName(), promotion.getType());
+                continue;
+            }
+            validUntil = earliest(validUntil, promotion.getEndsAt());
+            running.add(promotion);
+        }
+
+        // Highest priority first; ties keep creation order so evaluation is deterministic
+        running.sort(Comparator.comparingInt(Promotion::getPriority).reversed()
+            .thenComparing(Promotion::getId, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        List<LineRule> storeWide = new ArrayList<>();
+        Map<Long, List<LineRule>> byProduct = new HashMap<>();
+        for (Promotion promotion : running) {
+            LineRule rule = toRule(promotion);
+            if (promotion.getProductId() == null) {
+                // Store-wide rules go into every product's list too, at their place in the order
+                storeWide.add(rule);
+                byProduct.values().forEach(rules -> rules.add(rule));
+            } else {
+                byProduct.computeIfAbsent(promotion.getProductId(), productId -> new ArrayList<>(storeWide)).add(rule);
+            }
+        }
+
+        Map<Long, LineRule[]> compiled = new HashMap<>(byProduct.size() * 2);
+        byProduct.forEach((productId, rules) -> compiled.put(productId, rules.toArray(LineRule[]::new)));
+        return new PromotionEngine(Map.copyOf(compiled), storeWide.toArray(LineRule[]::new), validUntil);
+    }
+
+    public boolean isValidAt(LocalDateTime now) {
+        return validUntil == null || now.isBefore(validUntil);
+    }
+
+    // Discount in cents for a whole line; rules run in order on what earlier rules left, and an exclusive rule
+    // that gives any discount ends the line's evaluation
+    public long lineDiscount(long productId, long unitCents, int quantity) {
+        if (quantity <= 0) {
+            return 0;
+        }
+        LineRule[] rules = rulesByProduct.getOrDefault(productId, storeWideRules);
+        long gross = Money.times(unitCents, quantity);
+        long remaining = gross;
+        for (LineRule rule : rules) {
+            long discount = Math.min(remaining, rule.discount(unitCents, quantity, remaining));
+            if (discount > 0) {
+                remaining -= discount;
+                if (rule.exclusive() || remaining == 0) {
+                    break;
+                }
+            }
+        }
+        return gross - remaining;
+    }
+
+    private static LineRule toRule(Promotion promotion) {
+        int basisPoints = promotion.getPercentBasisPoints();
+        long amountCents = promotion.getAmount() == null ? -1 : promotion.getAmount().cents();
+        int buy = promotion.getBuyQuantity();
+        int get = promotion.getGetQuantity();
+        boolean exclusive = promotion.isExclusive();
+        if (promotion.getType() == null) {
+            return null;
+        }
+        return switch (promotion.getType()) {
+            case PERCENT_OFF -> basisPoints > 0 && basisPoints <= 10_000 ? new PercentOff(basisPoints, buy, exclusive) : null;
+            case AMOUNT_OFF -> amountCents > 0 ? new AmountOff(amountCents, exclusive) : null;
+            case BUY_X_GET_Y -> buy > 0 && get > 0 && basisPoints > 0 && basisPoints <= 10_000
+                ? new BuyGet(buy, get, basisPoints, exclusive) : null;
+            case BUNDLE_PRICE -> buy > 1 && amountCents >= 0 ? new BundlePrice(buy, amountCents, exclusive) : null;
+        };
+    }
+
+    private static LocalDateTime earliest(LocalDateTime current, LocalDateTime candidate) {
+        if (candidate == null) {
+            return current;
+        }
+        return current == null || candidate.isBefore(current) ? candidate : current;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.application.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.application.helpers.repos.PromotionRepository;
+
+// Holds the compiled promotions shared by every register. Promotions are compiled once and reused until a
+// scheduled start or end passes or pos.promotions.refresh elapses (promotions are edited in the database, by
+// any instance), so pricing a line never touches the database.
+@Service
+public class PromotionService {
+    private final PromotionRepository promotionRepository;
+    private final long refreshNanos;
+
+    // One compile at a time, so an older compile can never be installed over a newer one
+    private final ReentrantLock compileLock = new ReentrantLock();
+    // Compiled on first use, like the catalog snapshot
+    private volatile Compiled compiled;
+
+    private record Compiled(PromotionEngine engine, long compiledAtNanos) {
+    }
+
+    public PromotionService(PromotionRepository promotionRepository,
+                            @Value("${pos.promotions.refresh:PT1M}") Duration refresh) {
+        this.promotionRepository = promotionRepository;
+        this.refreshNanos = refresh.toNanos();
+    }
+
+    public PromotionEngine engine() {
+        LocalDateTime now = LocalDateTime.now();
+        Compiled current = compiled;
+        if (isCurrent(current, now)) {
+            return current.engine();
+        }
+        compileLock.lock();
+        try {
+            current = compiled;
+            if (isCurrent(current, now)) {
+                return current.engine(); // Compiled by another register while this one waited
+            }
+            PromotionEngine engine = PromotionEngine.compile(promotionRepository.findCurrentAndUpcoming(now), now);
+            compiled = new Compiled(engine, System.nanoTime());
+            return engine;
+        } finally {
+            compileLock.unlock();
+        }
+    }
+
+    private boolean isCurrent(Compiled current, LocalDateTime now) {
+        return current != null && current.engine().isValidAt(now) && System.nanoTime() - current.compiledAtNanos() < refreshNanos;
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.application.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.application.helpers.Customer;
+import com.example.application.helpers.Money;
+import com.example.application.helpers.ProductRecord;
+import com.example.application.helpers.Salesperson;
+import com.example.application.helpers.Ticket;
+import com.example.application.helpers.TicketItem;
+import com.example.application.helpers.repos.CustomerRepository;
+import com.example.application.helpers.repos.SalespersonRepository;
+import com.example.application.helpers.repos.TicketRepository;
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+
+import io.micrometer.core.instrument.Timer;
+
+@Service
+public class ReceiptService {
+    private static final String TEMPLATE = "templates/receipt.mustache";
+
+    private final TicketRepository ticketRepository;
+    private final CustomerRepository customerRepository;
+    private final SalespersonRepository salespersonRepository;
+    private final ProductCatalogCache catalogCache;
+    private final CheckoutJournal checkoutJournal;
+    private final PosMetrics metrics;
+    private final Template template;
+
+    public ReceiptService(TicketRepository ticketRepository, CustomerRepository customerRepository,
+                          SalespersonRepository salespersonRepository, ProductCatalogCache catalogCache,
+                          CheckoutJournal checkoutJournal, PosMetrics metrics) {
+        this.ticketRepository = ticketRepository;
+        this.customerRepository = customerRepository;
+        this.salespersonRepository = salespersonRepository;
+        this.catalogCache = catalogCache;
+        this.checkoutJournal = checkoutJournal;
+        this.metrics = metrics;
+        this.template = compileTemplate();
+    }
+
+    // Renders the ticket's receipt straight into the response stream; values are HTML-escaped by the template
+    @Transactional(readOnly = true)
+    public void writeReceipt(Long ticketId, OutputStream out) throws IOException {
+        Timer.Sample sample = metrics.start();
+        try {
+            Ticket ticket = ticketRepository.findWithItemsByTicketId(ticketId)
+                .orElseThrow(() -> new IllegalArgumentException("Ticket not found for ID: " + ticketId));
+            render(toModel(ticket), out);
+        } finally {
+            metrics.stop(sample, "pos.receipt.download");
+        }
+    }
+
+    // Receipt for a journaled checkout: from its ticket once the drainer has applied it, otherwise from the
+    // pending journal entry, which carries the prices the customer was charged
+    @Transactional(readOnly = true)
+    public void writeReceipt(UUID checkoutId, OutputStream out) throws IOException {
+        Timer.Sample sample = metrics.start();
+        try {
+            Optional<CheckoutRequest> pendingCheckout = checkoutJournal.findPending(checkoutId);
+            ReceiptModel model;
+            if (pendingCheckout.isPresent()) {
+                model = toModel(pendingCheckout.get());
+            } else {
+                model = ticketRepository.findWithItemsByCheckoutId(checkoutId.toString())
+                    .map(ReceiptService::toModel)
+                    .orElseThrow(() -> new IllegalArgumentException("Checkout not found: " + checkoutId));
+            }
+            render(model, out);
+        } finally {
+            metrics.stop(sample, "pos.receipt.download");
+        }
+    }
+
+    private void render(ReceiptModel model, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        template.execute(model, writer);
+        writer.flush();
+    }
+
+    private ReceiptModel toModel(CheckoutRequest request) {
+        // Names come from the catalog and second-level caches, so this normally needs no database round trip
+        String customerName = customerRepository.findById(request.customerId()).map(Customer::getName).orElse("");
+        String salespersonName = salespersonRepository.findById(request.salespersonId()).map(Salesperson::getName).orElse("");
+        Iterable<ReceiptLine> lines = () -> request.lines().stream()
+            .map(line -> new ReceiptLine(catalogCache.get(line.productId()).map(ProductRecord::name).orElse("#" + line.productId()),
+                line.quantity(), Money.format(line.unitPriceCents()), line.discountCents() > 0,
+                Money.format(line.discountCents()), Money.format(line.lineTotalCents())))
+            .iterator();
+        return new ReceiptModel(customerName, salespersonName, lines, Money.format(request.totalCents()));
+    }
+
+    private static ReceiptModel toModel(Ticket ticket) {
+        // Lines are mapped lazily while the template iterates, so no intermediate list is built
+        Iterable<ReceiptLine> lines = () -> ticket.getItems().stream().map(ReceiptService::toLine).iterator();
+        return new ReceiptModel(ticket.getCustomer().getName(), ticket.getSalesperson().getName(), lines,
+            ticket.getTotalPrice().toString());
+    }
+
+    private static ReceiptLine toLine(TicketItem ticketItem) {
+        long lineTotalCents = ticketItem.getPrice().cents();
+        long discountCents = ticketItem.getDiscount() == null ? 0 : ticketItem.getDiscount().cents();
+        return new ReceiptLine(ticketItem.getProduct().getName(), ticketItem.getQuantity(),
+            Money.format((lineTotalCents + discountCents) / ticketItem.getQuantity()), discountCents > 0,
+            Money.format(discountCents), Money.format(lineTotalCents));
+    }
+
+    private static Template compileTemplate() {
+        try (Reader reader = new InputStreamReader(new ClassPathResource(TEMPLATE).getInputStream(), StandardCharsets.UTF_8)) {
+            return Mustache.compiler().compile(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to load receipt template " + TEMPLATE, e);
+        }
+    }
+
+    public record ReceiptModel(String customerName, String salespersonName, Iterable<ReceiptLine> items, String totalPrice) {
+    }
+
+    public record ReceiptLine(String name, int quantity, String unitPrice, boolean discounted, String discount, String lineTotal) {
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.application.services;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.example.application.helpers.Product;
+import com.example.application.helpers.repos.ProductRepository;
+
+// SKU/barcode -> productId, loaded once at startup and kept current by the catalog write path,
+// so resolving a scan never touches the database. A reload builds fresh maps and swaps them in, so scans
+// keep resolving against the previous ones while it runs.
+@Component
+public class SkuIndex {
+    private final ProductRepository productRepository;
+    // Writers (reload, update, remove) are serialized so an update can't land in maps a reload is replacing
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Maps maps = new Maps(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+
+    private record Maps(Map<String, Long> productIdsBySku, Map<Long, String> skusByProductId) {
+    }
+
+    public SkuIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    public static String normalize(String sku) {
+        if (sku == null || sku.isBlank()) {
+            return null;
+        }
+        return sku.trim().toUpperCase(Locale.ROOT);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        writeLock.lock();
+        try {
+            Maps loaded = new Maps(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+            for (Object[] entry : productRepository.findSkuIndexEntries()) {
+                put(loaded, (Long) entry[1], (String) entry[0]);
+            }
+            maps = loaded;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public Long lookup(String sku) {
+        String key = normalize(sku);
+        return key == null ? null : maps.productIdsBySku().get(key);
+    }
+
+    public void update(Product product) {
+        writeLock.lock();
+        try {
+            put(maps, product.getProductId(), product.getSku());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        writeLock.lock();
+        try {
+            Maps current = maps;
+            String sku = current.skusByProductId().remove(productId);
+            if (sku != null) {
+                current.productIdsBySku().remove(sku, productId);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static void put(Maps target, Long productId, String sku) {
+        String key = normalize(sku);
+        String previous = key == null ? target.skusByProductId().remove(productId) : target.skusByProductId().put(productId, key);
+        if (previous != null && !previous.equals(key)) {
+            target.productIdsBySku().remove(previous, productId);
+        }
+        if (key != null) {
+            target.productIdsBySku().put(key, productId);
+        }
+    }
+}
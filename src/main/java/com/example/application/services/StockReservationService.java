@@ -0,0 +1,173 @@
+package com.example.application.services;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.application.helpers.ProductRecord;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Stock held by open tickets, so two registers can't both put the last unit on a ticket. Each product's held
+// units are one AtomicLong, claimed with compare-and-set against the catalog snapshot's stock; nothing here
+// touches the database. A ticket's holds are keyed by the checkoutId it will be journaled under:
+//
+//   reserve  the cashier sets a line's quantity; the hold's TTL restarts
+//   release  the ticket was abandoned (view closed); expired holds are released by the sweeper
+//   commit   the checkout is being journaled and the hold covers it; the hold no longer expires
+//   settle   the journal applied or rejected the checkout, so the catalog's stock now reflects it
+//
+// Committed holds stay counted until settled because the snapshot's stock only drops once the drainer has
+// written the ticket.
+@Service
+public class StockReservationService {
+    private final ProductCatalogCache catalogCache;
+    private final long ttlNanos;
+    private final ConcurrentHashMap<Long, AtomicLong> heldByProduct = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Hold> holds = new ConcurrentHashMap<>();
+
+    // One open ticket's held quantities; guarded by its own monitor, which is never held across blocking calls
+    private static final class Hold {
+        private final Map<Long, Integer> quantities = new HashMap<>();
+        private long expiresAtNanos;
+        private boolean committed;
+        private boolean released;
+    }
+
+    public StockReservationService(ProductCatalogCache catalogCache, MeterRegistry registry,
+                                   @Value("${pos.reservations.ttl:PT15M}") Duration ttl) {
+        this.catalogCache = catalogCache;
+        this.ttlNanos = ttl.toNanos();
+        registry.gauge("pos.reservations.open", holds, Map::size);
+    }
+
+    // Sets the ticket's hold on the product to the given quantity; false, leaving the hold unchanged, when
+    // that many units aren't available to this ticket
+    public boolean reserve(UUID holdId, long productId, int quantity) {
+        while (true) {
+            Hold hold = holds.computeIfAbsent(holdId, id -> new Hold());
+            synchronized (hold) {
+                if (hold.released) {
+                    continue; // Expired and removed concurrently; start a fresh hold
+                }
+                int previous = hold.quantities.getOrDefault(productId, 0);
+                int delta = quantity - previous;
+                if (delta > 0 && !claim(productId, delta)) {
+                    return false;
+                }
+                if (delta < 0) {
+                    heldByProduct.get(productId).addAndGet(delta);
+                }
+                if (quantity > 0) {
+                    hold.quantities.put(productId, quantity);
+                } else {
+                    hold.quantities.remove(productId);
+                }
+                if (!hold.committed) {
+                    hold.expiresAtNanos = System.nanoTime() + ttlNanos;
+                }
+                return true;
+            }
+        }
+    }
+
+    // False, leaving the hold as it is, when it has expired or no longer covers every line of the checkout
+    public boolean commit(CheckoutRequest request) {
+        Hold hold = holds.get(request.checkoutId());
+        if (hold == null) {
+            return false;
+        }
+        synchronized (hold) {
+            if (hold.released) {
+                return false;
+            }
+            for (Map.Entry<Long, Integer> line : request.quantitiesByProductId().entrySet()) {
+                if (hold.quantities.getOrDefault(line.getKey(), 0) < line.getValue()) {
+                    return false;
+                }
+            }
+            hold.committed = true;
+            return true;
+        }
+    }
+
+    // Holds replayed from the journal after a restart; the checkout was already acknowledged, so the units are
+    // held whether or not the stale snapshot still shows them
+    public void commitReplayed(CheckoutRequest request) {
+        Hold hold = new Hold();
+        hold.committed = true;
+        hold.quantities.putAll(request.quantitiesByProductId());
+        hold.quantities.forEach((productId, quantity) ->
+            heldByProduct.computeIfAbsent(productId, id -> new AtomicLong()).addAndGet(quantity));
+        holds.put(request.checkoutId(), hold);
+    }
+
+    // Abandoned ticket; a committed hold is left for the journal to settle
+    public void release(UUID holdId) {
+        Hold hold = holds.get(holdId);
+        if (hold != null) {
+            synchronized (hold) {
+                if (!hold.committed) {
+                    releaseLocked(holdId, hold);
+                }
+            }
+        }
+    }
+
+    public void settle(UUID holdId) {
+        Hold hold = holds.get(holdId);
+        if (hold != null) {
+            synchronized (hold) {
+                releaseLocked(holdId, hold);
+            }
+        }
+    }
+
+    // Units of the product held by open tickets and by journaled checkouts not yet applied
+    public long held(long productId) {
+        AtomicLong held = heldByProduct.get(productId);
+        return held == null ? 0 : held.get();
+    }
+
+    @Scheduled(fixedDelayString = "${pos.reservations.sweep-interval-ms:30000}")
+    public void releaseExpired() {
+        long now = System.nanoTime();
+        holds.forEach((holdId, hold) -> {
+            synchronized (hold) {
+                if (!hold.committed && now - hold.expiresAtNanos > 0) {
+                    releaseLocked(holdId, hold);
+                }
+            }
+        });
+    }
+
+    private boolean claim(long productId, int units) {
+        int stock = catalogCache.get(productId).map(ProductRecord::quantityInStock).orElse(0);
+        AtomicLong held = heldByProduct.computeIfAbsent(productId, id -> new AtomicLong());
+        while (true) {
+            long current = held.get();
+            if (stock - current < units) {
+                return false;
+            }
+            if (held.compareAndSet(current, current + units)) {
+                return true;
+            }
+        }
+    }
+
+    private void releaseLocked(UUID holdId, Hold hold) {
+        if (hold.released) {
+            return;
+        }
+        hold.released = true;
+        hold.quantities.forEach((productId, quantity) -> heldByProduct.get(productId).addAndGet(-quantity));
+        holds.remove(holdId, hold);
+    }
+}
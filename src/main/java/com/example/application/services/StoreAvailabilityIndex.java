@@ -0,0 +1,80 @@
+package com.example.application.services;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.application.helpers.StoreAvailability;
+import com.example.application.helpers.StoreLocation;
+import com.example.application.helpers.repos.StoreLocationRepository;
+import com.example.application.helpers.repos.StoreStockRepository;
+
+// "Available at other stores", answered from memory. One query reads every store's positive stock on a fixed
+// interval and the result is swapped in as an immutable map, so a cashier's lookup never fans out to the
+// database; answers are as fresh as the last refresh, which is shown alongside them.
+@Component
+public class StoreAvailabilityIndex {
+    private static final Logger log = LoggerFactory.getLogger(StoreAvailabilityIndex.class);
+
+    private final StoreStockRepository storeStockRepository;
+    private final StoreLocationRepository storeLocationRepository;
+    private final CurrentStore currentStore;
+
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), null);
+
+    private record Snapshot(Map<Long, List<StoreAvailability>> byProduct, LocalDateTime refreshedAt) {
+    }
+
+    public StoreAvailabilityIndex(StoreStockRepository storeStockRepository, StoreLocationRepository storeLocationRepository,
+                                  CurrentStore currentStore) {
+        this.storeStockRepository = storeStockRepository;
+        this.storeLocationRepository = storeLocationRepository;
+        this.currentStore = currentStore;
+    }
+
+    // Other stores holding the product, most stock first; empty before the first refresh
+    public List<StoreAvailability> otherStores(long productId) {
+        return snapshot.byProduct().getOrDefault(productId, List.of());
+    }
+
+    // Null until the first refresh completes
+    public LocalDateTime refreshedAt() {
+        return snapshot.refreshedAt();
+    }
+
+    @Scheduled(fixedDelayString = "${pos.store.availability-refresh-ms:60000}")
+    public void refresh() {
+        try {
+            Long ownStoreId = currentStore.id();
+            Map<Long, StoreLocation> stores = new HashMap<>();
+            storeLocationRepository.findAll().forEach(store -> stores.put(store.getId(), store));
+
+            Map<Long, List<StoreAvailability>> byProduct = new HashMap<>();
+            for (Object[] entry : storeStockRepository.findInStockEntries()) {
+                Long storeId = (Long) entry[1];
+                StoreLocation store = stores.get(storeId);
+                if (storeId.equals(ownStoreId) || store == null) {
+                    continue;
+                }
+                byProduct.computeIfAbsent((Long) entry[0], productId -> new ArrayList<>(2))
+                    .add(new StoreAvailability(store.getCode(), store.getName(), (Integer) entry[2]));
+            }
+            byProduct.replaceAll((productId, availability) -> {
+                availability.sort(Comparator.comparingInt(StoreAvailability::quantityInStock).reversed());
+                return List.copyOf(availability);
+            });
+            snapshot = new Snapshot(Map.copyOf(byProduct), LocalDateTime.now());
+        } catch (RuntimeException e) {
+            // Keep serving the previous answers; the next run retries
+            log.warn("Unable to refresh cross-store availability", e);
+        }
+    }
+}
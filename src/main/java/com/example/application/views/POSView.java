@@ -2,40 +2,107 @@ package com.example.application.views;
 
 import com.example.application.helpers.*;
 import com.example.application.helpers.repos.*;
+import com.example.application.services.CartLines;
+import com.example.application.services.CatalogSnapshot;
+import com.example.application.services.CheckoutRequest;
+import com.example.application.services.CheckoutRequest.CheckoutLine;
+import com.example.application.services.CustomerService;
+import com.example.application.services.InventoryCsvService;
+import com.example.application.services.InventoryChange;
+import com.example.application.services.InventoryChangeBroadcaster;
+import com.example.application.services.PosMetrics;
+import com.example.application.services.ParkedTicketStore;
+import com.example.application.services.ParkedTicketStore.ParkedTicket;
+import com.example.application.services.PosOperations;
+import com.example.application.services.PricedTicket;
+import com.example.application.services.ProductCatalogCache;
+import com.example.application.services.PromotionEngine;
+import com.example.application.services.PromotionService;
+import com.example.application.services.ReceiptService;
+import com.example.application.services.SkuIndex;
+import com.example.application.services.StockReservationService;
+import com.example.application.services.StoreAvailabilityIndex;
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.Key;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.combobox.ComboBox;
 import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.grid.dataview.GridLazyDataView;
+import com.vaadin.flow.component.html.Anchor;
+import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.progressbar.ProgressBar;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.tabs.Tab;
 import com.vaadin.flow.component.tabs.Tabs;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.component.upload.Upload;
+import com.vaadin.flow.component.upload.receivers.FileBuffer;
+import com.vaadin.flow.data.provider.QuerySortOrder;
+import com.vaadin.flow.data.provider.SortDirection;
 import com.vaadin.flow.router.Route;
-import java.util.HashMap;
+import com.vaadin.flow.server.StreamResource;
+import com.vaadin.flow.shared.Registration;
+import io.micrometer.core.instrument.Timer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 
 @Route("")
 public class POSView extends VerticalLayout {
+    private static final Logger log = LoggerFactory.getLogger(POSView.class);
+
     private final ProductRepository productRepository;
-    private final CustomerRepository customerRepository;
+    private final CustomerService customerService;
     private final SalespersonRepository salespersonRepository;
+    private final PosOperations posOperations;
+    private final ProductCatalogCache catalogCache;
+    private final InventoryChangeBroadcaster inventoryBroadcaster;
+    private final ReceiptService receiptService;
+    private final PosMetrics metrics;
+    private final SkuIndex skuIndex;
+    private final InventoryCsvService inventoryCsvService;
+    private final PromotionService promotionService;
+    private final StockReservationService reservations;
+    private final StoreAvailabilityIndex availabilityIndex;
+    private final ParkedTicketStore parkedTickets;
+    private Registration inventoryRegistration;
 
     // Components for the POS view
-    private final TextField customerField = new TextField("Customer Name");
+    private final TextField scanField = new TextField("Scan SKU / Barcode");
+    private final ComboBox<Customer> customerComboBox = new ComboBox<>("Customer (name, phone or email)");
     private final TextField quantityField = new TextField("Quantity");
     private final ComboBox<Salesperson> salespersonComboBox = new ComboBox<>("Select Salesperson");
     private final Button completeButton = new Button("Complete Transaction");
+    private final ComboBox<ParkedTicket> parkedTicketComboBox = new ComboBox<>("Parked Tickets");
+    private final Anchor receiptLink = new Anchor("", "Download Receipt");
 
-    private Grid<Product> grid;
-    private final Grid<TicketItem> ticketItemGrid = new Grid<>(TicketItem.class);
+    // Grids page over the shared catalog snapshot; the view itself holds no product list
+    private Grid<ProductRecord> grid;
+    private Grid<ProductRecord> inventoryGrid;
+    private GridLazyDataView<ProductRecord> productDataView;
+    private GridLazyDataView<ProductRecord> inventoryDataView;
+    private final Grid<TicketLine> ticketItemGrid = new Grid<>();
 
     // POS data tracking
-    private final Map<Product, Integer> selectedItems = new HashMap<>();
-    private Product selectedProduct;
+    private final CartLines cartLines = new CartLines();
+    // Becomes the checkoutId; the ticket's stock holds are keyed by it
+    private UUID ticketId = UUID.randomUUID();
+    // Priced against the shared compiled promotions on first use
+    private final PricedTicket pricedTicket = new PricedTicket(PromotionEngine.empty());
+    private ProductRecord selectedProduct;
     private Customer selectedCustomer;
     private Salesperson selectedSalesperson;
 
@@ -47,11 +114,27 @@ public class POSView extends VerticalLayout {
     private VerticalLayout posLayout;
     private VerticalLayout inventoryLayout;
 
-    public POSView(ProductRepository productRepository, CustomerRepository customerRepository, 
-                   TicketRepository ticketRepository, SalespersonRepository salespersonRepository) {
+    public POSView(ProductRepository productRepository, CustomerService customerService,
+                   TicketRepository ticketRepository, SalespersonRepository salespersonRepository,
+                   PosOperations posOperations, ProductCatalogCache catalogCache,
+                   InventoryChangeBroadcaster inventoryBroadcaster, ReceiptService receiptService,
+                   PosMetrics metrics, SkuIndex skuIndex, InventoryCsvService inventoryCsvService,
+                   PromotionService promotionService, StockReservationService reservations,
+                   StoreAvailabilityIndex availabilityIndex, ParkedTicketStore parkedTickets) {
         this.productRepository = productRepository;
-        this.customerRepository = customerRepository;
+        this.customerService = customerService;
         this.salespersonRepository = salespersonRepository;
+        this.posOperations = posOperations;
+        this.catalogCache = catalogCache;
+        this.inventoryBroadcaster = inventoryBroadcaster;
+        this.receiptService = receiptService;
+        this.metrics = metrics;
+        this.skuIndex = skuIndex;
+        this.inventoryCsvService = inventoryCsvService;
+        this.promotionService = promotionService;
+        this.reservations = reservations;
+        this.availabilityIndex = availabilityIndex;
+        this.parkedTickets = parkedTickets;
 
         // Set up tabs
         posTab = new Tab("POS");
@@ -78,6 +161,26 @@ public class POSView extends VerticalLayout {
         add(tabs, posLayout); // Initially display POS view
     }
 
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        UI ui = attachEvent.getUI();
+        inventoryRegistration = inventoryBroadcaster.register(change -> ui.access(() -> applyInventoryChange(change)));
+    }
+
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        super.onDetach(detachEvent);
+        inventoryRegistration.remove();
+        inventoryRegistration = null;
+        // A closed or refreshed tab parks its open ticket instead of losing it, and frees its stock right away
+        // (not while a checkout is in flight: that ticket is already journaled)
+        if (!cartLines.isEmpty() && completeButton.isEnabled()) {
+            parkedTickets.park(ticketId, parkLabel() + " (unsaved)", selectedCustomer == null ? null : selectedCustomer.getId(), cartLines);
+        }
+        reservations.release(ticketId);
+    }
+
     private void showPOSView() {
         removeAll();
         add(tabs, posLayout);
@@ -90,30 +193,70 @@ public class POSView extends VerticalLayout {
 
     private void setupPOSView() {
         // Set up product grid for inventory selection
-        grid = new Grid<>(Product.class);
-        grid.setColumns("name", "price", "quantityInStock");
-        grid.setItems(productRepository.findAll());
+        grid = new Grid<>();
+        productDataView = setProductItems(grid);
         grid.setSelectionMode(Grid.SelectionMode.SINGLE);
 
         grid.addSelectionListener(event -> {
             event.getFirstSelectedItem().ifPresent(product -> {
                 selectedProduct = product;
-                Notification.show("Selected Product: " + product.getName(), 3000, Notification.Position.MIDDLE);
+                Notification.show("Selected Product: " + product.name(), 3000, Notification.Position.MIDDLE);
             });
         });
 
+        // Scanner input: the scanner types the code followed by Enter, adding one unit per scan
+        scanField.addKeyPressListener(Key.ENTER, e -> {
+            Timer.Sample sample = metrics.start();
+            addScannedItem();
+            metrics.stop(sample, "pos.ticket.scan");
+        });
+
+        // Customer ComboBox: lazy, indexed typeahead; typing a new name creates the customer
+        customerComboBox.setItems((filter, offset, limit) -> customerService.search(filter, offset, limit).stream());
+        customerComboBox.setPageSize(20);
+        customerComboBox.setItemLabelGenerator(Customer::getName);
+        customerComboBox.setAllowCustomValue(true);
+        customerComboBox.addValueChangeListener(e -> selectedCustomer = e.getValue());
+        customerComboBox.addCustomValueSetListener(e -> selectCustomerByName(e.getDetail()));
+
         // Salesperson ComboBox
-        salespersonComboBox.setItems(salespersonRepository.findAll());
+        onUi(posOperations.findSalespeople(), salespersonComboBox::setItems,
+            error -> log.error("Failed to load salespeople", error));
         salespersonComboBox.setItemLabelGenerator(Salesperson::getName);
         salespersonComboBox.addValueChangeListener(e -> selectedSalesperson = e.getValue());
 
         // Add to Ticket Button
-        Button addToTicketButton = new Button("Add to Ticket", e -> addToTicket(quantityField));
+        Button addToTicketButton = new Button("Add to Ticket", e -> {
+            Timer.Sample sample = metrics.start();
+            addToTicket(quantityField);
+            metrics.stop(sample, "pos.ticket.add");
+        });
+
+        // Other stores' stock for the selected product, from the in-memory availability index
+        Button otherStoresButton = new Button("Check Other Stores", e -> showOtherStores());
+
+        // Parked tickets: read from the shared store each time the list opens
+        Button parkButton = new Button("Park Ticket", e -> parkTicket());
+        parkedTicketComboBox.setItems((filter, offset, limit) -> parkedTickets.list().stream()
+            .filter(parked -> parked.label().toLowerCase(Locale.ROOT).contains(filter == null ? "" : filter.toLowerCase(Locale.ROOT)))
+            .skip(offset)
+            .limit(limit));
+        parkedTicketComboBox.setItemLabelGenerator(parked ->
+            parked.label() + " - " + parked.parkedAt().format(DateTimeFormatter.ofPattern("HH:mm")));
+        Button resumeButton = new Button("Resume Ticket", e -> resumeTicket());
 
         // Ticket Items Grid
-        ticketItemGrid.setColumns("product.name", "quantity", "price");
+        ticketItemGrid.addColumn(TicketLine::name).setHeader("Product");
+        ticketItemGrid.addColumn(TicketLine::quantity).setHeader("Quantity");
+        ticketItemGrid.addColumn(line -> line.discountCents() == 0 ? "" : "-" + Money.format(line.discountCents())).setHeader("Discount");
+        ticketItemGrid.addColumn(line -> Money.format(line.priceCents())).setHeader("Price");
+
+        // Receipt link for the last completed ticket; also clicked programmatically after checkout
+        receiptLink.getElement().setAttribute("download", true);
+        receiptLink.setVisible(false);
 
-        posLayout.add(customerField, grid, quantityField, salespersonComboBox, addToTicketButton, ticketItemGrid, completeButton);
+        posLayout.add(scanField, customerComboBox, grid, quantityField, salespersonComboBox, addToTicketButton, otherStoresButton, ticketItemGrid, completeButton,
+            parkButton, parkedTicketComboBox, resumeButton, receiptLink);
 
         // Complete transaction button
         completeButton.addClickListener(e -> completeTransaction());
@@ -121,17 +264,18 @@ public class POSView extends VerticalLayout {
 
     private void setupInventoryView() {
         // Inventory Management Grid
-        Grid<Product> inventoryGrid = new Grid<>(Product.class);
-        inventoryGrid.setColumns("name", "price", "quantityInStock");
-        inventoryGrid.setItems(productRepository.findAll());
+        inventoryGrid = new Grid<>();
+        inventoryDataView = setProductItems(inventoryGrid);
     
         // Input fields for adding or updating inventory
+        TextField productSkuField = new TextField("SKU / Barcode");
         TextField productNameField = new TextField("Product Name");
         TextField productPriceField = new TextField("Product Price");
         TextField productQuantityField = new TextField("Quantity In Stock");
     
         // Buttons for managing inventory
         Button addProductButton = new Button("Add Product", e -> addProduct(
+            productSkuField.getValue(),
             productNameField.getValue(),
             productPriceField.getValue(),
             productQuantityField.getValue()
@@ -139,6 +283,7 @@ public class POSView extends VerticalLayout {
     
         Button updateProductButton = new Button("Update Selected Product", e -> updateProduct(
             inventoryGrid.asSingleSelect().getValue(),
+            productSkuField.getValue(),
             productNameField.getValue(),
             productPriceField.getValue(),
             productQuantityField.getValue()
@@ -150,32 +295,78 @@ public class POSView extends VerticalLayout {
     
         // Add selection listener to populate fields when a product is selected
         inventoryGrid.asSingleSelect().addValueChangeListener(event -> {
-            Product selectedProduct = event.getValue();
+            ProductRecord selectedProduct = event.getValue();
             if (selectedProduct != null) {
-                productNameField.setValue(selectedProduct.getName());
-                productPriceField.setValue(String.valueOf(selectedProduct.getPrice()));
-                productQuantityField.setValue(String.valueOf(selectedProduct.getQuantityInStock()));
+                productSkuField.setValue(selectedProduct.sku() == null ? "" : selectedProduct.sku());
+                productNameField.setValue(selectedProduct.name());
+                productPriceField.setValue(Money.format(selectedProduct.priceCents()));
+                productQuantityField.setValue(String.valueOf(selectedProduct.quantityInStock()));
             } else {
+                productSkuField.clear();
                 productNameField.clear();
                 productPriceField.clear();
                 productQuantityField.clear();
             }
         });
     
+        // Bulk CSV import (spooled to a temp file, imported in the background) and streaming export
+        FileBuffer importBuffer = new FileBuffer();
+        Upload importUpload = new Upload(importBuffer);
+        importUpload.setAcceptedFileTypes(".csv", "text/csv");
+        ProgressBar importProgress = new ProgressBar();
+        importProgress.setIndeterminate(true);
+        importProgress.setVisible(false);
+        Span importStatus = new Span();
+        importUpload.addSucceededListener(e -> importInventory(importBuffer, importProgress, importStatus));
+
+        StreamResource exportResource = new StreamResource("inventory.csv",
+            (out, session) -> inventoryCsvService.exportCsv(out));
+        exportResource.setContentType("text/csv");
+        Anchor exportLink = new Anchor(exportResource, "Export Inventory CSV");
+        exportLink.getElement().setAttribute("download", true);
+
         // Layout for inventory management view
         inventoryLayout.add(
             inventoryGrid,
+            productSkuField,
             productNameField,
             productPriceField,
             productQuantityField,
             addProductButton,
             updateProductButton,
-            deleteProductButton
+            deleteProductButton,
+            importUpload,
+            importProgress,
+            importStatus,
+            exportLink
         );
     }
+
+    private void importInventory(FileBuffer importBuffer, ProgressBar importProgress, Span importStatus) {
+        UI ui = UI.getCurrent();
+        importProgress.setVisible(true);
+        importStatus.setText("Importing...");
+
+        inventoryCsvService.importCsvAsync(importBuffer.getInputStream(),
+                rows -> ui.access(() -> importStatus.setText("Imported " + rows + " rows...")))
+            .whenComplete((result, error) -> {
+                importBuffer.getFileData().getFile().delete();
+                ui.access(() -> {
+                    importProgress.setVisible(false);
+                    if (error != null) {
+                        log.error("Inventory import failed", error);
+                        importStatus.setText("Import failed: " + error.getMessage());
+                    } else {
+                        String ambiguous = result.ambiguousLines().isEmpty() ? ""
+                            : "; lines " + result.ambiguousLines() + " match more than one product by name and price and were not applied";
+                        importStatus.setText("Imported " + result.imported() + " rows, skipped " + result.skipped() + ambiguous);
+                    }
+                });
+            });
+    }
     
     // Helper methods for inventory actions
-    private void addProduct(String name, String price, String quantity) {
+    private void addProduct(String sku, String name, String price, String quantity) {
         try {
             if (name.isBlank() || price.isBlank() || quantity.isBlank()) {
                 Notification.show("All fields are required", 3000, Notification.Position.MIDDLE);
@@ -183,55 +374,110 @@ public class POSView extends VerticalLayout {
             }
     
             Product product = new Product();
+            product.setSku(sku);
             product.setName(name);
-            product.setPrice(Double.parseDouble(price));
-            product.setQuantityInStock(Integer.parseInt(quantity));
+            product.setPrice(Money.parse(price));
+            int parsedQuantity = Integer.parseInt(quantity);
     
-            productRepository.save(product);
-            Notification.show("Product added successfully", 3000, Notification.Position.MIDDLE);
-    
-            refreshInventoryGrid();
+            // The save broadcasts the change, which refreshes the grids
+            onUi(posOperations.saveProduct(product, parsedQuantity),
+                saved -> Notification.show("Product added successfully", 3000, Notification.Position.MIDDLE),
+                this::showProductSaveError);
         } catch (NumberFormatException e) {
             Notification.show("Invalid price or quantity", 3000, Notification.Position.MIDDLE);
         }
     }
     
-    private void updateProduct(Product product, String name, String price, String quantity) {
+    private void updateProduct(ProductRecord product, String sku, String name, String price, String quantity) {
         if (product == null) {
             Notification.show("No product selected", 3000, Notification.Position.MIDDLE);
             return;
         }
     
         try {
-            product.setName(name);
-            product.setPrice(Double.parseDouble(price));
-            product.setQuantityInStock(Integer.parseInt(quantity));
-    
-            productRepository.save(product);
-            Notification.show("Product updated successfully", 3000, Notification.Position.MIDDLE);
-    
-            refreshInventoryGrid();
+            Money parsedPrice = Money.parse(price);
+            int parsedQuantity = Integer.parseInt(quantity);
+    
+            onUi(posOperations.updateProduct(product.productId(), entity -> {
+                    entity.setSku(sku);
+                    entity.setName(name);
+                    entity.setPrice(parsedPrice);
+                }, parsedQuantity),
+                saved -> Notification.show("Product updated successfully", 3000, Notification.Position.MIDDLE),
+                this::showProductSaveError);
         } catch (NumberFormatException e) {
             Notification.show("Invalid price or quantity", 3000, Notification.Position.MIDDLE);
         }
     }
+
+    private void showProductSaveError(Throwable error) {
+        if (error instanceof DataIntegrityViolationException) {
+            Notification.show("SKU is already in use", 3000, Notification.Position.MIDDLE);
+        } else {
+            log.error("Failed to save product", error);
+            Notification.show("Error saving product: " + error.getMessage(), 5000, Notification.Position.MIDDLE);
+        }
+    }
     
-    private void deleteProduct(Product product) {
+    private void deleteProduct(ProductRecord product) {
         if (product == null) {
             Notification.show("No product selected", 3000, Notification.Position.MIDDLE);
             return;
         }
     
-        productRepository.delete(product);
-        Notification.show("Product deleted successfully", 3000, Notification.Position.MIDDLE);
-    
-        refreshInventoryGrid();
+        onUi(posOperations.deleteProduct(product.productId()),
+            deleted -> Notification.show("Product deleted successfully", 3000, Notification.Position.MIDDLE),
+            error -> {
+                if (error instanceof IllegalStateException) {
+                    Notification.show(error.getMessage(), 5000, Notification.Position.MIDDLE); // Sold or on an open ticket
+                    return;
+                }
+                log.error("Failed to delete product", error);
+                Notification.show("Error deleting product: " + error.getMessage(), 5000, Notification.Position.MIDDLE);
+            });
     }
     
+    private GridLazyDataView<ProductRecord> setProductItems(Grid<ProductRecord> productGrid) {
+        productGrid.addColumn(ProductRecord::sku).setHeader("Sku").setKey("sku").setSortable(true);
+        productGrid.addColumn(ProductRecord::name).setHeader("Name").setKey("name").setSortable(true);
+        productGrid.addColumn(product -> Money.format(product.priceCents())).setHeader("Price").setKey("price").setSortable(true);
+        productGrid.addColumn(ProductRecord::quantityInStock).setHeader("Quantity In Stock").setKey("quantityInStock").setSortable(true);
+
+        // Lazy data provider: only the rows in the client viewport are sent, sliced from the shared snapshot
+        GridLazyDataView<ProductRecord> dataView = productGrid.setItems(
+            query -> {
+                CatalogSnapshot catalog = catalogCache.snapshot();
+                if (query.getSortOrders().isEmpty()) {
+                    return catalog.page(query.getOffset(), query.getLimit(), null, true);
+                }
+                QuerySortOrder order = query.getSortOrders().get(0);
+                return catalog.page(query.getOffset(), query.getLimit(), CatalogSnapshot.SortKey.forProperty(order.getSorted()),
+                    order.getDirection() == SortDirection.ASCENDING);
+            },
+            query -> catalogCache.snapshot().size()
+        );
+        dataView.setIdentifierProvider(ProductRecord::productId); // Rows are replaced on every change, so select by id
+        return dataView;
+    }
+
+    private void applyInventoryChange(InventoryChange change) {
+        if (change.structural()) {
+            refreshInventoryGrid();
+            return;
+        }
+
+        // Re-render only the changed rows; rows outside the viewport are ignored by the data view
+        for (Long productId : change.productIds()) {
+            catalogCache.get(productId).ifPresent(product -> {
+                productDataView.refreshItem(product);
+                inventoryDataView.refreshItem(product);
+            });
+        }
+    }
+
     private void refreshInventoryGrid() {
-        Grid<Product> inventoryGrid = new Grid<>(Product.class);
-        inventoryGrid.setColumns("name", "price", "quantityInStock");
-        inventoryGrid.setItems(productRepository.findAll());
+        inventoryGrid.getDataProvider().refreshAll();
+        grid.getDataProvider().refreshAll();
     }
     
     private void addToTicket(TextField quantityField) {
@@ -241,41 +487,25 @@ public class POSView extends VerticalLayout {
             return;
         }
 
-        // Validate the quantity
+        // Validate the quantity; stock is checked when it is reserved
         int quantity = Integer.parseInt(quantityField.getValue());
-        if (quantity <= 0 || quantity > selectedProduct.getQuantityInStock()) {
+        if (quantity <= 0) {
             Notification.show("Invalid quantity", 3000, Notification.Position.MIDDLE);
             return;
         }
 
         // Validate the customer
-        String customerName = customerField.getValue().trim();
-        if (customerName.isEmpty()) {
-            Notification.show("Please enter a customer name", 3000, Notification.Position.MIDDLE);
+        if (selectedCustomer == null) {
+            Notification.show("Please select or enter a customer", 3000, Notification.Position.MIDDLE);
             return;
         }
 
-        selectedCustomer = customerRepository.findByName(customerName);
-        if (selectedCustomer == null) {
-            // Create a new customer if not found
-            selectedCustomer = new Customer();
-            selectedCustomer.setId(generateCustomerId()); // Assign a new unique ID
-            selectedCustomer.setName(customerName);
-            customerRepository.save(selectedCustomer);
-            Notification.show("New customer added: " + customerName, 3000, Notification.Position.MIDDLE);
-        } else {
-            Notification.show("Customer selected: " + customerName, 3000, Notification.Position.MIDDLE);
+        // Set the product's line on the ticket to this quantity
+        if (!setTicketLine(selectedProduct, quantity)) {
+            Notification.show("Not enough stock for product: " + selectedProduct.name(), 3000, Notification.Position.MIDDLE);
+            return;
         }
 
-        // Add the product and quantity to the selected items map
-        selectedItems.put(selectedProduct, quantity);
-
-        // Update the ticket items grid
-        List<TicketItem> ticketItems = selectedItems.entrySet().stream()
-            .map(entry -> new TicketItem(entry.getKey(), entry.getValue(), null))
-            .collect(Collectors.toList());
-        ticketItemGrid.setItems(ticketItems);
-
         Notification.show("Product added to ticket", 3000, Notification.Position.MIDDLE);
 
         // Reset selections
@@ -286,139 +516,246 @@ public class POSView extends VerticalLayout {
         Notification.show("Please enter a valid quantity", 3000, Notification.Position.MIDDLE);
     } catch (Exception e) {
         Notification.show("An error occurred: " + e.getMessage(), 3000, Notification.Position.MIDDLE);
-        e.printStackTrace();
+        log.error("Failed to add product to ticket", e);
     }
 }
 
-    
-    private Long generateCustomerId() {
-        return UUID.randomUUID().getMostSignificantBits();
+
+    private void showOtherStores() {
+        if (selectedProduct == null) {
+            Notification.show("Please select a product", 3000, Notification.Position.MIDDLE);
+            return;
+        }
+        LocalDateTime refreshedAt = availabilityIndex.refreshedAt();
+        if (refreshedAt == null) {
+            Notification.show("Other stores' stock is still loading", 3000, Notification.Position.MIDDLE);
+            return;
+        }
+        List<StoreAvailability> stores = availabilityIndex.otherStores(selectedProduct.productId());
+        String asOf = " (as of " + refreshedAt.format(DateTimeFormatter.ofPattern("HH:mm")) + ")";
+        if (stores.isEmpty()) {
+            Notification.show(selectedProduct.name() + " is not in stock at other stores" + asOf, 5000, Notification.Position.MIDDLE);
+            return;
+        }
+        String summary = stores.stream()
+            .map(store -> store.storeName() + ": " + store.quantityInStock())
+            .collect(Collectors.joining(", "));
+        Notification.show(selectedProduct.name() + " at other stores" + asOf + " - " + summary, 5000, Notification.Position.MIDDLE);
     }
-      
 
-    private void completeTransaction() {
-        try {
-            // Validate selected customer
-            if (selectedCustomer == null) {
-                Notification.show("Please add or select a customer", 3000, Notification.Position.MIDDLE);
-                return;
+    private void addScannedItem() {
+        String sku = scanField.getValue();
+        scanField.clear();
+
+        // Index and catalog cache are both in memory, so a scan doesn't wait on the database
+        Long productId = skuIndex.lookup(sku);
+        ProductRecord product = productId == null ? null : catalogCache.get(productId).orElse(null);
+        if (product == null) {
+            Notification.show("Unknown SKU: " + sku, 3000, Notification.Position.MIDDLE);
+            return;
+        }
+
+        if (!setTicketLine(product, cartLines.quantity(product.productId()) + 1)) {
+            Notification.show("Not enough stock for product: " + product.name(), 3000, Notification.Position.MIDDLE);
+        }
+    }
+
+    // Holds the stock first, so another register can't sell the same units while this ticket is open.
+    // Only the changed line is re-priced, unless the promotions were recompiled since the last change.
+    private boolean setTicketLine(ProductRecord product, int quantity) {
+        if (!putTicketLine(product, quantity)) {
+            return false;
+        }
+        refreshTicketItems();
+        return true;
+    }
+
+    private boolean putTicketLine(ProductRecord product, int quantity) {
+        if (!reservations.reserve(ticketId, product.productId(), quantity)) {
+            return false;
+        }
+        cartLines.set(product.productId(), quantity);
+        pricedTicket.reprice(promotionService.engine());
+        pricedTicket.setLine(product.productId(), product.priceCents(), quantity);
+        return true;
+    }
+
+    // Sets the ticket aside and starts a new one; its stock is released until it is resumed
+    private void parkTicket() {
+        if (cartLines.isEmpty()) {
+            Notification.show("Please add products to the ticket", 3000, Notification.Position.MIDDLE);
+            return;
+        }
+        String label = parkLabel();
+        parkedTickets.park(ticketId, label, selectedCustomer == null ? null : selectedCustomer.getId(), cartLines);
+        reservations.release(ticketId);
+        clearPOSView();
+        parkedTicketComboBox.getDataProvider().refreshAll();
+        Notification.show("Ticket parked: " + label, 3000, Notification.Position.MIDDLE);
+    }
+
+    private String parkLabel() {
+        return selectedCustomer != null ? selectedCustomer.getName()
+            : "Ticket " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss"));
+    }
+
+    private void resumeTicket() {
+        ParkedTicket selected = parkedTicketComboBox.getValue();
+        if (selected == null) {
+            Notification.show("Please select a parked ticket", 3000, Notification.Position.MIDDLE);
+            return;
+        }
+        if (!cartLines.isEmpty()) {
+            Notification.show("Park or complete the current ticket first", 3000, Notification.Position.MIDDLE);
+            return;
+        }
+        parkedTicketComboBox.clear();
+        parkedTicketComboBox.getDataProvider().refreshAll();
+        ParkedTicket parked = parkedTickets.take(selected.ticketId()).orElse(null);
+        if (parked == null) {
+            Notification.show("That ticket was already resumed or has expired", 3000, Notification.Position.MIDDLE);
+            return;
+        }
+
+        // Lines are reserved again at current prices; any that no longer fit the stock are left off
+        ticketId = parked.ticketId();
+        CatalogSnapshot catalog = catalogCache.snapshot();
+        List<String> unavailable = new ArrayList<>();
+        parked.cartLines().forEach((productId, quantity) -> {
+            ProductRecord product = catalog.get(productId);
+            if (product == null) {
+                unavailable.add("deleted product");
+            } else if (!putTicketLine(product, quantity)) {
+                unavailable.add(product.name());
             }
-    
-            // Validate selected salesperson
-            if (selectedSalesperson == null) {
-                Notification.show("Please select a salesperson", 3000, Notification.Position.MIDDLE);
+        });
+        refreshTicketItems();
+
+        if (parked.customerId() != null) {
+            onUi(posOperations.findCustomer(parked.customerId()), customer -> customer.ifPresent(customerComboBox::setValue),
+                error -> log.error("Failed to load customer for parked ticket", error));
+        }
+        if (unavailable.isEmpty()) {
+            Notification.show("Ticket resumed: " + parked.label(), 3000, Notification.Position.MIDDLE);
+        } else {
+            Notification.show("Ticket resumed without: " + String.join(", ", unavailable), 5000, Notification.Position.MIDDLE);
+        }
+    }
+
+    private void refreshTicketItems() {
+        // Display rows are built from the snapshot on demand; the cart itself only holds ids and quantities
+        CatalogSnapshot catalog = catalogCache.snapshot();
+        List<TicketLine> ticketLines = new ArrayList<>(cartLines.size());
+        cartLines.forEach((productId, quantity) -> {
+            ProductRecord product = catalog.get(productId);
+            String name = product == null ? "Deleted product" : product.name();
+            ticketLines.add(new TicketLine(name, quantity, pricedTicket.discountCents(productId), pricedTicket.lineTotalCents(productId)));
+        });
+        ticketItemGrid.setItems(ticketLines);
+    }
+
+    private void selectCustomerByName(String customerName) {
+        if (customerName == null || customerName.isBlank()) {
+            return;
+        }
+
+        onUi(posOperations.findOrCreateCustomer(customerName), customer -> {
+            customerComboBox.setValue(customer);
+            Notification.show("Customer selected: " + customer.getName(), 3000, Notification.Position.MIDDLE);
+        }, error -> {
+            log.error("Failed to look up customer", error);
+            Notification.show("Error selecting customer: " + error.getMessage(), 5000, Notification.Position.MIDDLE);
+        });
+    }
+
+    private void completeTransaction() {
+        // Validate selected customer
+        if (selectedCustomer == null) {
+            Notification.show("Please add or select a customer", 3000, Notification.Position.MIDDLE);
+            return;
+        }
+
+        // Validate selected salesperson
+        if (selectedSalesperson == null) {
+            Notification.show("Please select a salesperson", 3000, Notification.Position.MIDDLE);
+            return;
+        }
+
+        if (cartLines.isEmpty()) {
+            Notification.show("Please add products to the ticket", 3000, Notification.Position.MIDDLE);
+            return;
+        }
+
+        // Journal the checkout off the UI thread, at the current prices and promotions; the ticket and stock
+        // changes are applied in the background
+        CatalogSnapshot catalog = catalogCache.snapshot();
+        pricedTicket.reprice(promotionService.engine());
+        List<CheckoutLine> lines = new ArrayList<>(cartLines.size());
+        for (int i = 0; i < cartLines.size(); i++) {
+            ProductRecord product = catalog.get(cartLines.productIdAt(i));
+            if (product == null) {
+                Notification.show("A product on this ticket was deleted; please remove it", 3000, Notification.Position.MIDDLE);
                 return;
             }
-    
-            // Iterate over selected items and update their stock
-            for (Map.Entry<Product, Integer> entry : selectedItems.entrySet()) {
-                Product product = entry.getKey();
-                int quantitySold = entry.getValue();
-                int updatedQuantity = product.getQuantityInStock() - quantitySold;
-    
-                // Check if there is enough stock to complete the transaction
-                if (updatedQuantity < 0) {
-                    Notification.show("Not enough stock for product: " + product.getName(), 3000, Notification.Position.MIDDLE);
-                    return;
-                }
-    
-                // Update the product quantity in the database
-                product.setQuantityInStock(updatedQuantity);
-                productRepository.save(product); // Save the updated product in the repository
-            }
-    
+            // Catalog prices may have moved since the line was added
+            pricedTicket.setLine(product.productId(), product.priceCents(), cartLines.quantityAt(i));
+            lines.add(new CheckoutLine(product.productId(), cartLines.quantityAt(i), product.priceCents(),
+                pricedTicket.discountCents(product.productId())));
+        }
+        CheckoutRequest request = CheckoutRequest.create(ticketId, selectedCustomer.getId(), selectedSalesperson.getId(), lines);
+
+        completeButton.setEnabled(false); // No double submits while the checkout is in flight
+        onUi(posOperations.checkout(request), acknowledged -> {
+            completeButton.setEnabled(true);
             Notification.show("Transaction completed successfully!", 3000, Notification.Position.MIDDLE);
-    
-            // Clear the POS view to prepare for a new transaction
-            // Trigger receipt download
-            downloadReceipt();
+
+            // Trigger receipt download, then clear the POS view to prepare for a new transaction
+            downloadReceipt(acknowledged.checkoutId());
             clearPOSView();
-    
-        } catch (Exception e) {
-            // Catch and log any errors for debugging
-            e.printStackTrace();
-            Notification.show("Error completing transaction: " + e.getMessage(), 5000, Notification.Position.MIDDLE);
-        }
+        }, error -> {
+            completeButton.setEnabled(true);
+            log.error("Failed to complete transaction", error);
+            Notification.show("Error completing transaction: " + error.getMessage(), 5000, Notification.Position.MIDDLE);
+        });
     }
 
-    private String generateReceiptContent() {
-        StringBuilder receipt = new StringBuilder();
-    
-        // Start HTML document
-        receipt.append("<html><head><style>")
-               .append("body { font-family: Arial, sans-serif; margin: 20px; }")
-               .append("h1 { text-align: center; }")
-               .append("table { width: 100%; border-collapse: collapse; margin-top: 20px; }")
-               .append("th, td { padding: 8px; border: 1px solid #ddd; text-align: left; }")
-               .append("th { background-color: #f2f2f2; }")
-               .append("</style></head><body>");
-    
-        // Add title
-        receipt.append("<h1>------ POS RECEIPT ------</h1>");
-        receipt.append("<p><strong>Customer:</strong> ").append(selectedCustomer.getName()).append("</p>");
-        receipt.append("<p><strong>Salesperson:</strong> ").append(selectedSalesperson.getName()).append("</p>");
-        
-        // Items Purchased table
-        receipt.append("<h3>Items Purchased:</h3>");
-        receipt.append("<table><tr><th>Item</th><th>Quantity</th><th>Price</th><th>Total</th></tr>");
-        
-        double totalPrice = 0.0;
-        for (Map.Entry<Product, Integer> entry : selectedItems.entrySet()) {
-            Product product = entry.getKey();
-            int quantity = entry.getValue();
-            double itemPrice = product.getPrice();
-            double itemTotalPrice = itemPrice * quantity;
-            totalPrice += itemTotalPrice;
-    
-            receipt.append(String.format("<tr><td>%s</td><td>%d</td><td>%.2f</td><td>%.2f</td></tr>", 
-                                          product.getName(), quantity, itemPrice, itemTotalPrice));
-        }
-        
-        // Total Price section
-        receipt.append("</table>");
-        receipt.append("<p><strong>Total Price:</strong> ").append(String.format("%.2f", totalPrice)).append("</p>");
-        
-        // Thank you note
-        receipt.append("<hr><p style=\"text-align:center;\">------ Thank you for your purchase! ------</p>");
-        
-        // End HTML document
-        receipt.append("</body></html>");
-        
-        return receipt.toString();
+    // Applies the result of a background operation under the session lock; push delivers the changes
+    private <T> void onUi(CompletableFuture<T> operation, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        UI ui = UI.getCurrent();
+        operation.whenComplete((result, error) -> ui.access(() -> {
+            if (error == null) {
+                onSuccess.accept(result);
+            } else {
+                onError.accept(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            }
+        }));
     }
-    
-    
-    
-    private void downloadReceipt() {
-        // Generate the receipt content
-        String receiptContent = generateReceiptContent();
-        
-        // Create a Blob from the receipt content
-        String js = String.format(
-            "var blob = new Blob([new TextEncoder().encode('%s')], { type: 'text/plain' });"
-            + "var link = document.createElement('a');"
-            + "link.href = URL.createObjectURL(blob);"
-            + "link.download = 'receipt.html';"
-            + "link.click();",
-            receiptContent.replace("\n", "%0A").replace("\r", "%0D") // Properly encode line breaks
-        );
-        
-        // Execute JavaScript in the browser to trigger the download
-        UI.getCurrent().getPage().executeJs(js);
+
+    private void downloadReceipt(UUID checkoutId) {
+        // Rendered by the download request itself, so the receipt never travels over the UI channel
+        StreamResource receipt = new StreamResource("receipt-" + checkoutId + ".html",
+            (out, session) -> receiptService.writeReceipt(checkoutId, out));
+        receipt.setContentType("text/html");
+        receiptLink.setHref(receipt);
+        receiptLink.setVisible(true);
+        receiptLink.getElement().callJsFunction("click");
     }
-    
-    
-    
-    
+
+    // A ticket row for display only
+    private record TicketLine(String name, int quantity, long discountCents, long priceCents) {
+    }
+
     private void clearPOSView() {
-        customerField.clear();
+        customerComboBox.clear();
         quantityField.clear();
         selectedProduct = null;
         selectedCustomer = null;
-        selectedSalesperson = null;
+        salespersonComboBox.clear(); // Also clears selectedSalesperson, so the next ticket can pick the same one again
         grid.deselectAll();
         ticketItemGrid.setItems(List.of());
-        selectedItems.clear();
+        cartLines.clear();
+        pricedTicket.clear();
+        ticketId = UUID.randomUUID(); // The previous ticket was checked out (its holds committed) or parked
     }
     
 }
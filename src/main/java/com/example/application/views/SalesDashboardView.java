@@ -0,0 +1,194 @@
+package com.example.application.views;
+
+import com.example.application.helpers.*;
+import com.example.application.helpers.repos.*;
+import com.example.application.services.CustomerService;
+import com.example.application.services.PosOperations;
+import com.example.application.services.ProductCatalogCache;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.combobox.ComboBox;
+import com.vaadin.flow.component.datepicker.DatePicker;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.html.H3;
+import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
+import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.router.Route;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import org.springframework.data.domain.Sort;
+
+// Management reporting. The revenue, salesperson and product grids read the daily rollup tables; only the
+// ticket history pages through raw tickets, as summary projections. The eager reads run off the session lock
+// through PosOperations and arrive by push; the lazy grids fetch one small page at a time. The ticket history
+// can be narrowed to one salesperson or one customer.
+@Route("dashboard")
+public class SalesDashboardView extends VerticalLayout {
+    private final DailyProductSalesRepository dailyProductSalesRepository;
+    private final PosOperations posOperations;
+    private final ProductCatalogCache catalogCache;
+    private final TicketRepository ticketRepository;
+    private final Map<Long, String> salespersonNames = new HashMap<>();
+
+    private final DatePicker fromDate = new DatePicker("From", LocalDate.now().minusDays(30));
+    private final DatePicker toDate = new DatePicker("To", LocalDate.now());
+    private final ComboBox<Salesperson> salespersonFilter = new ComboBox<>("Salesperson");
+    private final ComboBox<Customer> customerFilter = new ComboBox<>("Customer");
+
+    private final Grid<DailyRevenue> revenueGrid = new Grid<>();
+    private final Grid<DailySalespersonSales> salespersonGrid = new Grid<>();
+    private final Grid<DailyProductSales> productGrid = new Grid<>();
+    private final Grid<TicketSummary> ticketGrid = new Grid<>();
+
+    public SalesDashboardView(DailyProductSalesRepository dailyProductSalesRepository, PosOperations posOperations,
+                              ProductCatalogCache catalogCache, TicketRepository ticketRepository,
+                              CustomerService customerService) {
+        this.dailyProductSalesRepository = dailyProductSalesRepository;
+        this.posOperations = posOperations;
+        this.catalogCache = catalogCache;
+        this.ticketRepository = ticketRepository;
+
+        revenueGrid.addColumn(DailyRevenue::salesDate).setHeader("Date");
+        revenueGrid.addColumn(DailyRevenue::ticketCount).setHeader("Tickets");
+        revenueGrid.addColumn(DailyRevenue::quantitySold).setHeader("Units");
+        revenueGrid.addColumn(revenue -> Money.format(revenue.revenueCents())).setHeader("Revenue");
+
+        salespersonGrid.addColumn(sales -> sales.getId().getSalesDate()).setHeader("Date");
+        salespersonGrid.addColumn(sales -> salespersonNames.getOrDefault(sales.getId().getSalespersonId(), "Unknown"))
+            .setHeader("Salesperson");
+        salespersonGrid.addColumn(DailySalespersonSales::getTicketCount).setHeader("Tickets");
+        salespersonGrid.addColumn(DailySalespersonSales::getQuantitySold).setHeader("Units");
+        salespersonGrid.addColumn(sales -> Money.format(sales.getRevenueCents())).setHeader("Revenue");
+
+        productGrid.addColumn(sales -> sales.getId().getSalesDate()).setHeader("Date");
+        productGrid.addColumn(sales -> catalogCache.get(sales.getId().getProductId()).map(ProductRecord::name).orElse("Deleted product"))
+            .setHeader("Product");
+        productGrid.addColumn(DailyProductSales::getQuantitySold).setHeader("Units");
+        productGrid.addColumn(sales -> Money.format(sales.getRevenueCents())).setHeader("Revenue");
+
+        ticketGrid.addColumn(TicketSummary::ticketId).setHeader("Ticket");
+        ticketGrid.addColumn(TicketSummary::date).setHeader("Date").setKey("date").setSortable(true);
+        ticketGrid.addColumn(TicketSummary::customerName).setHeader("Customer");
+        ticketGrid.addColumn(TicketSummary::salespersonName).setHeader("Salesperson");
+        ticketGrid.addColumn(TicketSummary::itemCount).setHeader("Items");
+        ticketGrid.addColumn(ticket -> ticket.totalPrice() == null ? "" : ticket.totalPrice().toString()).setHeader("Total");
+
+        // One filter at a time: choosing a salesperson clears the customer and vice versa
+        salespersonFilter.setItemLabelGenerator(Salesperson::getName);
+        salespersonFilter.setClearButtonVisible(true);
+        salespersonFilter.addValueChangeListener(e -> {
+            if (e.getValue() != null) {
+                customerFilter.clear();
+            }
+            refreshTickets();
+        });
+        customerFilter.setItems((filter, offset, limit) -> customerService.search(filter, offset, limit).stream());
+        customerFilter.setItemLabelGenerator(Customer::getName);
+        customerFilter.setClearButtonVisible(true);
+        customerFilter.addValueChangeListener(e -> {
+            if (e.getValue() != null) {
+                salespersonFilter.clear();
+            }
+            refreshTickets();
+        });
+
+        fromDate.addValueChangeListener(e -> refresh());
+        toDate.addValueChangeListener(e -> refresh());
+
+        add(new HorizontalLayout(fromDate, toDate),
+            new H3("Daily Revenue"), revenueGrid,
+            new H3("By Salesperson"), salespersonGrid,
+            new H3("By Product"), productGrid,
+            new H3("Tickets"), new HorizontalLayout(salespersonFilter, customerFilter), ticketGrid);
+        onUi(posOperations.findSalespeople(), salespeople -> {
+            salespeople.forEach(salesperson -> salespersonNames.put(salesperson.getId(), salesperson.getName()));
+            salespersonGrid.getDataProvider().refreshAll();
+            salespersonFilter.setItems(salespeople);
+        });
+        refresh();
+    }
+
+    private void refresh() {
+        LocalDate from = fromDate.getValue();
+        LocalDate to = toDate.getValue();
+        if (from == null || to == null) {
+            return;
+        }
+
+        // Results for a range the user has since changed are dropped
+        onUi(posOperations.findDailyRevenue(from, to), revenue -> {
+            if (isCurrentRange(from, to)) {
+                revenueGrid.setItems(revenue);
+            }
+        });
+        onUi(posOperations.findDailySalespersonSales(from, to), sales -> {
+            if (isCurrentRange(from, to)) {
+                salespersonGrid.setItems(sales);
+            }
+        });
+        // Product rows grow with days x products sold, so page them lazily (the query fixes the order)
+        productGrid.setItems(query -> dailyProductSalesRepository
+            .findBetween(from, to, new OffsetPageable(query.getOffset(), query.getLimit(), Sort.unsorted())).stream());
+        refreshTickets();
+    }
+
+    // Ticket history: a constant number of queries per page via TicketSummary projections
+    private void refreshTickets() {
+        LocalDate fromDay = fromDate.getValue();
+        LocalDate toDay = toDate.getValue();
+        if (fromDay == null || toDay == null) {
+            return;
+        }
+        LocalDateTime from = fromDay.atStartOfDay();
+        LocalDateTime to = toDay.plusDays(1).atStartOfDay();
+        Salesperson salesperson = salespersonFilter.getValue();
+        Customer customer = customerFilter.getValue();
+        if (salesperson != null) {
+            ticketGrid.setItems(
+                query -> ticketRepository.findSummariesBySalesperson(salesperson.getId(), from, to, ticketPage(query)).stream(),
+                query -> (int) ticketRepository.countBySalesperson(salesperson.getId(), from, to));
+        } else if (customer != null) {
+            ticketGrid.setItems(
+                query -> ticketRepository.findSummariesByCustomer(customer.getId(), from, to, ticketPage(query)).stream(),
+                query -> (int) ticketRepository.countByCustomer(customer.getId(), from, to));
+        } else {
+            ticketGrid.setItems(
+                query -> ticketRepository.findSummariesByDateBetween(from, to, ticketPage(query)).stream(),
+                query -> (int) ticketRepository.countByDateBetween(from, to));
+        }
+    }
+
+    private static OffsetPageable ticketPage(Query<?, ?> query) {
+        return new OffsetPageable(query.getOffset(), query.getLimit(), ticketSort(query));
+    }
+
+    // Newest first unless the grid is sorted by date; the ticket id breaks ties so pages neither repeat nor skip rows
+    private static Sort ticketSort(Query<?, ?> query) {
+        Sort sort = VaadinSpringDataHelpers.toSpringDataSort(query);
+        return (sort.isSorted() ? sort : Sort.by(Sort.Direction.DESC, "date")).and(Sort.by(Sort.Direction.DESC, "ticketId"));
+    }
+
+    private boolean isCurrentRange(LocalDate from, LocalDate to) {
+        return from.equals(fromDate.getValue()) && to.equals(toDate.getValue());
+    }
+
+    // Applies the result of a background read under the session lock; push delivers the changes
+    private <T> void onUi(CompletableFuture<T> read, Consumer<T> onSuccess) {
+        UI ui = UI.getCurrent();
+        read.whenComplete((result, error) -> ui.access(() -> {
+            if (error == null) {
+                onSuccess.accept(result);
+            } else {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                Notification.show("Error loading sales: " + cause.getMessage(), 5000, Notification.Position.MIDDLE);
+            }
+        }));
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.application.views;
+
+import org.springframework.stereotype.Component;
+
+import com.example.application.services.PosMetrics;
+import com.vaadin.flow.server.ServiceInitEvent;
+import com.vaadin.flow.server.VaadinServiceInitListener;
+
+// Tracks open UI sessions for the pos.ui.sessions.active gauge
+@Component
+public class SessionMetricsListener implements VaadinServiceInitListener {
+    private final PosMetrics metrics;
+
+    public SessionMetricsListener(PosMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void serviceInit(ServiceInitEvent event) {
+        event.getSource().addSessionInitListener(e -> metrics.sessionStarted());
+        event.getSource().addSessionDestroyListener(e -> metrics.sessionEnded());
+    }
+}
@@ -0,0 +1,58 @@
+-- Baseline: the schema the application had before versioned migrations, as ddl-auto=update created it from
+-- the original entities. A database created that way has exactly these tables and is adopted as version 1
+-- (spring.flyway.baseline-on-migrate); V2 onward bring it up to date. Other schemas can't be adopted.
+
+CREATE TABLE product (
+    product_id        BIGINT       NOT NULL AUTO_INCREMENT,
+    name              VARCHAR(255),
+    description       VARCHAR(255),
+    price             DOUBLE       NOT NULL,
+    quantity_in_stock INT          NOT NULL,
+    PRIMARY KEY (product_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE customer (
+    id    BIGINT       NOT NULL,
+    name  VARCHAR(255),
+    email VARCHAR(255),
+    phone VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE salesperson (
+    salesperson_id BIGINT       NOT NULL AUTO_INCREMENT,
+    name           VARCHAR(255),
+    PRIMARY KEY (salesperson_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE ticket (
+    ticket_id      BIGINT       NOT NULL AUTO_INCREMENT,
+    salesperson_id BIGINT,
+    id             BIGINT,
+    ticket_name    VARCHAR(255),
+    total_price    DOUBLE,
+    date           DATETIME(6),
+    PRIMARY KEY (ticket_id),
+    CONSTRAINT fk_ticket_salesperson FOREIGN KEY (salesperson_id) REFERENCES salesperson (salesperson_id),
+    CONSTRAINT fk_ticket_customer FOREIGN KEY (id) REFERENCES customer (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE ticket_item (
+    id                 BIGINT NOT NULL AUTO_INCREMENT,
+    product_product_id BIGINT,
+    ticket_ticket_id   BIGINT,
+    quantity           INT    NOT NULL,
+    price              DOUBLE NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_ticket_item_product FOREIGN KEY (product_product_id) REFERENCES product (product_id),
+    CONSTRAINT fk_ticket_item_ticket FOREIGN KEY (ticket_ticket_id) REFERENCES ticket (ticket_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE sale (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    product_id    BIGINT,
+    quantity_sold INT          NOT NULL,
+    total_price   DOUBLE       NOT NULL,
+    sales_person  VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
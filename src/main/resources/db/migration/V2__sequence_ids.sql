@@ -0,0 +1,13 @@
+-- Ticket, ticket item and sale ids come from sequences so Hibernate can batch their inserts. MySQL has no
+-- sequences; Hibernate emulates ticket_seq, ticket_item_seq and sale_seq with single-row tables. The pooled
+-- optimizer hands out the 50 ids below the value it reads, so each starts one allocation past the highest id.
+-- The old AUTO_INCREMENT attributes are left in place; Hibernate always supplies the id.
+
+CREATE TABLE ticket_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO ticket_seq SELECT COALESCE(MAX(ticket_id), 0) + 51 FROM ticket;
+
+CREATE TABLE ticket_item_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO ticket_item_seq SELECT COALESCE(MAX(id), 0) + 51 FROM ticket_item;
+
+CREATE TABLE sale_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO sale_seq SELECT COALESCE(MAX(id), 0) + 51 FROM sale;
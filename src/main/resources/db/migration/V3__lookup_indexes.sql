@@ -0,0 +1,15 @@
+-- Indexed lookups: customer typeahead by normalized name, phone and email, scans by SKU, and ticket history
+-- by date and salesperson or by customer. name_key is filled in for existing customers here, normalized the
+-- same way Customer.normalizeName does for new rows (trimmed, lower case).
+
+ALTER TABLE customer ADD COLUMN name_key VARCHAR(255);
+UPDATE customer SET name_key = LOWER(TRIM(name)) WHERE name_key IS NULL AND name IS NOT NULL;
+CREATE INDEX idx_customer_name_key ON customer (name_key);
+CREATE INDEX idx_customer_phone ON customer (phone);
+CREATE INDEX idx_customer_email ON customer (email);
+
+ALTER TABLE product ADD COLUMN sku VARCHAR(255);
+ALTER TABLE product ADD CONSTRAINT uk_product_sku UNIQUE (sku);
+
+CREATE INDEX idx_ticket_date_salesperson ON ticket (date, salesperson_id);
+CREATE INDEX idx_ticket_customer_date ON ticket (id, date);
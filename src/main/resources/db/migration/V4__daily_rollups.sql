@@ -0,0 +1,33 @@
+-- Daily rollups read by the sales dashboard and upserted at checkout, filled in from the tickets sold so far
+
+CREATE TABLE daily_product_sales (
+    sales_date    DATE   NOT NULL,
+    product_id    BIGINT NOT NULL,
+    quantity_sold BIGINT NOT NULL,
+    revenue       DOUBLE NOT NULL,
+    PRIMARY KEY (sales_date, product_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE daily_salesperson_sales (
+    sales_date     DATE   NOT NULL,
+    salesperson_id BIGINT NOT NULL,
+    ticket_count   BIGINT NOT NULL,
+    quantity_sold  BIGINT NOT NULL,
+    revenue        DOUBLE NOT NULL,
+    PRIMARY KEY (sales_date, salesperson_id)
+) ENGINE = InnoDB;
+
+-- A ticket item's price is its line total
+INSERT INTO daily_product_sales (sales_date, product_id, quantity_sold, revenue)
+SELECT DATE(t.date), i.product_product_id, SUM(i.quantity), SUM(i.price)
+FROM ticket_item i JOIN ticket t ON t.ticket_id = i.ticket_ticket_id
+WHERE t.date IS NOT NULL AND i.product_product_id IS NOT NULL
+GROUP BY DATE(t.date), i.product_product_id;
+
+INSERT INTO daily_salesperson_sales (sales_date, salesperson_id, ticket_count, quantity_sold, revenue)
+SELECT DATE(t.date), t.salesperson_id, COUNT(*), SUM(COALESCE(items.quantity, 0)), SUM(COALESCE(t.total_price, 0))
+FROM ticket t
+LEFT JOIN (SELECT ticket_ticket_id, SUM(quantity) AS quantity FROM ticket_item GROUP BY ticket_ticket_id) items
+    ON items.ticket_ticket_id = t.ticket_id
+WHERE t.date IS NOT NULL AND t.salesperson_id IS NOT NULL
+GROUP BY DATE(t.date), t.salesperson_id;
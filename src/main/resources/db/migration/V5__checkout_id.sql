@@ -0,0 +1,5 @@
+-- Journaled checkouts carry a register-generated id; the unique key makes replaying one a no-op.
+-- Tickets sold before the journal have none.
+
+ALTER TABLE ticket ADD COLUMN checkout_id VARCHAR(36);
+ALTER TABLE ticket ADD CONSTRAINT uk_ticket_checkout_id UNIQUE (checkout_id);
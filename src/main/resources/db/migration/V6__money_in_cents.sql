@@ -0,0 +1,26 @@
+-- Money moves from DOUBLE to exact BIGINT cents (see Money / MoneyConverter).
+-- Existing amounts are rounded to the nearest cent.
+
+ALTER TABLE product ADD COLUMN price_cents BIGINT;
+UPDATE product SET price_cents = ROUND(price * 100);
+ALTER TABLE product DROP COLUMN price;
+
+ALTER TABLE ticket_item ADD COLUMN price_cents BIGINT;
+UPDATE ticket_item SET price_cents = ROUND(price * 100);
+ALTER TABLE ticket_item DROP COLUMN price;
+
+ALTER TABLE ticket ADD COLUMN total_price_cents BIGINT;
+UPDATE ticket SET total_price_cents = ROUND(total_price * 100);
+ALTER TABLE ticket DROP COLUMN total_price;
+
+ALTER TABLE sale ADD COLUMN total_price_cents BIGINT;
+UPDATE sale SET total_price_cents = ROUND(total_price * 100);
+ALTER TABLE sale DROP COLUMN total_price;
+
+ALTER TABLE daily_product_sales ADD COLUMN revenue_cents BIGINT NOT NULL DEFAULT 0;
+UPDATE daily_product_sales SET revenue_cents = ROUND(revenue * 100);
+ALTER TABLE daily_product_sales DROP COLUMN revenue;
+
+ALTER TABLE daily_salesperson_sales ADD COLUMN revenue_cents BIGINT NOT NULL DEFAULT 0;
+UPDATE daily_salesperson_sales SET revenue_cents = ROUND(revenue * 100);
+ALTER TABLE daily_salesperson_sales DROP COLUMN revenue;
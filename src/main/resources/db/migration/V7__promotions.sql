@@ -0,0 +1,22 @@
+-- Promotions compiled by PromotionEngine, and the discount each ticket line received.
+-- Lines sold before promotions existed had no discount.
+
+CREATE TABLE promotion (
+    id                   BIGINT      NOT NULL AUTO_INCREMENT,
+    name                 VARCHAR(255),
+    type                 VARCHAR(20),
+    product_id           BIGINT,
+    priority             INT         NOT NULL,
+    exclusive_rule       BIT(1)      NOT NULL,
+    percent_basis_points INT         NOT NULL,
+    amount_cents         BIGINT,
+    buy_quantity         INT         NOT NULL,
+    get_quantity         INT         NOT NULL,
+    active               BIT(1)      NOT NULL,
+    starts_at            DATETIME(6),
+    ends_at              DATETIME(6),
+    PRIMARY KEY (id),
+    INDEX idx_promotion_active_ends (active, ends_at)
+) ENGINE = InnoDB;
+
+ALTER TABLE ticket_item ADD COLUMN discount_cents BIGINT NOT NULL DEFAULT 0;
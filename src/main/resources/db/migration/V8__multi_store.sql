@@ -0,0 +1,32 @@
+-- Stock moves from product.quantity_in_stock to one store_stock row per store and product.
+-- Existing stock and tickets belong to the MAIN store; other stores register themselves on first start
+-- (pos.store.code, see CurrentStore).
+
+CREATE TABLE store_location (
+    id   BIGINT      NOT NULL AUTO_INCREMENT,
+    code VARCHAR(32) NOT NULL,
+    name VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_store_location_code UNIQUE (code)
+) ENGINE = InnoDB;
+
+INSERT INTO store_location (code, name) VALUES ('MAIN', 'Main store');
+
+CREATE TABLE store_stock (
+    store_id          BIGINT NOT NULL,
+    product_id        BIGINT NOT NULL,
+    quantity_in_stock INT    NOT NULL,
+    PRIMARY KEY (store_id, product_id),
+    INDEX idx_store_stock_product (product_id),
+    CONSTRAINT fk_store_stock_store FOREIGN KEY (store_id) REFERENCES store_location (id),
+    CONSTRAINT fk_store_stock_product FOREIGN KEY (product_id) REFERENCES product (product_id)
+) ENGINE = InnoDB;
+
+INSERT INTO store_stock (store_id, product_id, quantity_in_stock)
+SELECT s.id, p.product_id, p.quantity_in_stock FROM product p JOIN store_location s ON s.code = 'MAIN';
+
+ALTER TABLE product DROP COLUMN quantity_in_stock;
+
+ALTER TABLE ticket ADD COLUMN store_id BIGINT;
+UPDATE ticket SET store_id = (SELECT id FROM store_location WHERE code = 'MAIN');
+ALTER TABLE ticket ADD CONSTRAINT fk_ticket_store FOREIGN KEY (store_id) REFERENCES store_location (id);